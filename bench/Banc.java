@@ -0,0 +1,276 @@
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Banc de mesure des chemins critiques de l'interpréteur. Chaque cas est exécuté en boucle pendant plusieurs
+ * itérations de durée fixe, après des itérations de chauffe laissées au JIT ; le rapport donne le temps moyen par
+ * opération et son écart type.
+ * <p>
+ * Les résultats peuvent être enregistrés (-r) puis servir de référence à une mesure ultérieure (-c) : tout cas
+ * plus lent que sa référence au-delà du seuil (-s, en pourcents) est signalé, et le code de sortie vaut alors 1.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class Banc {
+    /**
+     * Résultat consommé de chaque opération, afin que le JIT ne puisse pas l'éliminer.
+     */
+    private static volatile Object puits;
+
+    /**
+     * Tailles pour lesquelles sont mesurés les cas qui en dépendent.
+     */
+    private int[] tailles;
+
+    /**
+     * Nombre d'itérations de chauffe.
+     */
+    private int chauffes;
+
+    /**
+     * Nombre d'itérations mesurées.
+     */
+    private int iterations;
+
+    /**
+     * Durée d'une itération, en millisecondes.
+     */
+    private long duree;
+
+    /**
+     * Initialise un banc.
+     *
+     * @param tailles    Tailles pour lesquelles sont mesurés les cas qui en dépendent.
+     * @param chauffes   Nombre d'itérations de chauffe.
+     * @param iterations Nombre d'itérations mesurées.
+     * @param duree      Durée d'une itération, en millisecondes.
+     */
+    public Banc(int[] tailles, int chauffes, int iterations, long duree) {
+        this.tailles = tailles;
+        this.chauffes = chauffes;
+        this.iterations = Math.max(1, iterations);
+        this.duree = duree;
+    }
+
+    /**
+     * Retourne tous les cas du banc.
+     */
+    public static List<CasDeBanc> tousLesCas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+        cas.addAll(BancInterprete.cas());
+        cas.addAll(BancScripting.cas());
+        cas.addAll(BancConsole.cas());
+        cas.addAll(BancLecteur.cas());
+        cas.addAll(BancProgramme.cas());
+        return cas;
+    }
+
+    /**
+     * Mesure un cas pour une taille donnée.
+     *
+     * @param cas    Cas à mesurer.
+     * @param taille Taille demandée.
+     * @return Le temps par opération de chaque itération mesurée, en nanosecondes.
+     * @throws Exception Si le cas échoue.
+     */
+    public double[] mesure(CasDeBanc cas, int taille) throws Exception {
+        double[] resultats = new double[iterations];
+
+        cas.preparer(taille);
+        try {
+            for (int i = 0; i < chauffes; i++) {
+                iteration(cas);
+            }
+
+            for (int i = 0; i < iterations; i++) {
+                resultats[i] = iteration(cas);
+            }
+        } finally {
+            cas.nettoyer();
+        }
+
+        return resultats;
+    }
+
+    /**
+     * Exécute le cas en boucle pendant la durée d'une itération.
+     *
+     * @param cas Cas à exécuter.
+     * @return Le temps moyen par opération, en nanosecondes.
+     * @throws Exception Si le cas échoue.
+     */
+    private double iteration(CasDeBanc cas) throws Exception {
+        long fin = System.nanoTime() + duree * 1_000_000L;
+        long operations = 0;
+        long debut = System.nanoTime();
+        long maintenant;
+
+        do {
+            for (int i = 0; i < 16; i++) {
+                puits = cas.executer();
+            }
+
+            operations += 16;
+            maintenant = System.nanoTime();
+        } while (maintenant < fin);
+
+        return (double) (maintenant - debut) / operations;
+    }
+
+    /**
+     * Retourne la moyenne des valeurs données.
+     *
+     * @param valeurs Valeurs.
+     */
+    private static double moyenne(double[] valeurs) {
+        double somme = 0;
+        for (double v : valeurs) {
+            somme += v;
+        }
+
+        return somme / valeurs.length;
+    }
+
+    /**
+     * Retourne l'écart type des valeurs données.
+     *
+     * @param valeurs Valeurs.
+     */
+    private static double ecartType(double[] valeurs) {
+        double moyenne = moyenne(valeurs);
+        double somme = 0;
+        for (double v : valeurs) {
+            somme += (v - moyenne) * (v - moyenne);
+        }
+
+        return Math.sqrt(somme / valeurs.length);
+    }
+
+    /**
+     * Lit un fichier de résultats enregistré par une mesure précédente.
+     *
+     * @param fichier Fichier de résultats.
+     * @return Le temps par opération, en nanosecondes, indexé par "cas|taille".
+     * @throws Exception Si le fichier ne peut pas être lu.
+     */
+    private static Map<String, Double> litReference(File fichier) throws Exception {
+        Map<String, Double> reference = new HashMap<>();
+
+        for (String ligne : Files.readAllLines(fichier.toPath(), StandardCharsets.UTF_8)) {
+            String[] colonnes = ligne.split("\t");
+            if (colonnes.length == 3) {
+                reference.put(colonnes[0] + "|" + colonnes[1], Double.valueOf(colonnes[2]));
+            }
+        }
+
+        return reference;
+    }
+
+    /**
+     * Point d'entrée du banc.
+     * <p>
+     * Utilisation : {@code Banc [-t 10,100,1000] [-w chauffes] [-i iterations] [-d duree_ms] [-f filtre]
+     * [-r resultats.tsv] [-c reference.tsv] [-s seuil]}.
+     *
+     * @param args Options du banc.
+     * @throws Exception Si un cas échoue.
+     */
+    public static void main(String[] args) throws Exception {
+        String tailles = "10,100,1000";
+        int chauffes = 3;
+        int iterations = 5;
+        long duree = 500;
+        String filtre = "";
+        File resultats = null;
+        File reference = null;
+        double seuil = 10;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-t":
+                    tailles = args[++i];
+                    break;
+                case "-w":
+                    chauffes = Integer.parseInt(args[++i]);
+                    break;
+                case "-i":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "-d":
+                    duree = Long.parseLong(args[++i]);
+                    break;
+                case "-f":
+                    filtre = args[++i];
+                    break;
+                case "-r":
+                    resultats = new File(args[++i]);
+                    break;
+                case "-c":
+                    reference = new File(args[++i]);
+                    break;
+                case "-s":
+                    seuil = Double.parseDouble(args[++i]);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        String[] morceaux = tailles.split(",");
+        int[] valeurs = new int[morceaux.length];
+        for (int i = 0; i < morceaux.length; i++) {
+            valeurs[i] = Integer.parseInt(morceaux[i].trim());
+        }
+
+        Banc banc = new Banc(valeurs, chauffes, iterations, duree);
+        Map<String, Double> references = reference == null ? new HashMap<>() : litReference(reference);
+        PrintStream sortie = System.out;
+        StringBuilder enregistrement = new StringBuilder();
+        boolean regression = false;
+
+        sortie.println(String.format("%-45s %8s %14s %12s", "Cas", "Taille", "ns/op", "± ns"));
+        for (CasDeBanc cas : tousLesCas()) {
+            if (!cas.getNom().contains(filtre)) {
+                continue;
+            }
+
+            int[] aMesurer = cas.dependDeLaTaille() ? valeurs : new int[]{0};
+            for (int taille : aMesurer) {
+                double[] mesures = banc.mesure(cas, taille);
+                double moyenne = moyenne(mesures);
+                String cle = cas.getNom() + "|" + taille;
+
+                String ligne = String.format(Locale.ROOT, "%-45s %8s %14.1f %12.1f", cas.getNom(),
+                        cas.dependDeLaTaille() ? Integer.toString(taille) : "-", moyenne, ecartType(mesures));
+
+                Double ancienne = references.get(cle);
+                if (ancienne != null) {
+                    double ecart = (moyenne - ancienne) / ancienne * 100;
+                    ligne += String.format(Locale.ROOT, "  %+6.1f %%", ecart);
+                    if (ecart > seuil) {
+                        ligne += "  RÉGRESSION";
+                        regression = true;
+                    }
+                }
+
+                sortie.println(ligne);
+                enregistrement.append(cas.getNom()).append('\t').append(taille).append('\t')
+                        .append(String.format(Locale.ROOT, "%.3f", moyenne)).append('\n');
+            }
+        }
+
+        if (resultats != null) {
+            Files.write(resultats.toPath(), enregistrement.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        System.exit(regression ? 1 : 0);
+    }
+}
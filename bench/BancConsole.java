@@ -0,0 +1,129 @@
+import org.fusesource.jansi.AnsiConsole;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cas mesurant la coloration et l'affichage de la console, sur un programme de la taille demandée. L'affichage est
+ * redirigé vers un flux vide pendant la mesure.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class BancConsole {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private BancConsole() {
+
+    }
+
+    /**
+     * Retourne les cas de cette catégorie.
+     */
+    public static List<CasDeBanc> cas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+
+        cas.add(new Cas("console/colorie") {
+            private int ligne;
+
+            @Override
+            public Object executer() {
+                ligne = (ligne + 1) % lecteur.getNombreLignes();
+                return console.colorie(lecteur.getLigne(ligne));
+            }
+        });
+
+        cas.add(new Cas("console/actualiserConsole complet") {
+            @Override
+            public Object executer() {
+                console.invalider();
+                console.actualiserConsole();
+                return console;
+            }
+        });
+
+        cas.add(new Cas("console/actualiserConsole après un pas") {
+            @Override
+            public Object executer() {
+                if (interpreteur.estTermine()) {
+                    interpreteur.revenirA(0);
+                }
+
+                interpreteur.pas();
+                console.actualiserConsole();
+                return console;
+            }
+        });
+
+        return cas;
+    }
+
+    /**
+     * Cas disposant d'une console sur un programme de la taille demandée.
+     */
+    private abstract static class Cas extends CasDeBanc {
+        /**
+         * Lecteur du programme.
+         */
+        protected Lecteur lecteur;
+
+        /**
+         * Interpréteur du programme.
+         */
+        protected Interpreteur interpreteur;
+
+        /**
+         * Console affichant l'exécution.
+         */
+        protected InterfaceConsole console;
+
+        /**
+         * Sortie standard, rétablie après la mesure.
+         */
+        private PrintStream sortie;
+
+        /**
+         * Initialise un cas.
+         *
+         * @param nom Nom du cas.
+         */
+        Cas(String nom) {
+            super(nom, true);
+        }
+
+        @Override
+        public void preparer(int taille) throws Exception {
+            File fichier = Programmes.ecrit(Programmes.etendu(taille));
+            lecteur = new Lecteur(fichier.getPath());
+            lecteur.lire();
+
+            interpreteur = Interpreteur.pilote(fichier.getPath());
+            interpreteur.configurerTraces(64, false);
+            interpreteur.preparer();
+
+            sortie = System.out;
+            console = new InterfaceConsole(lecteur, interpreteur);
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+
+                }
+            }));
+        }
+
+        @Override
+        public void nettoyer() {
+            AnsiConsole.systemUninstall();
+            System.setOut(sortie);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cas mesurant Interpreteur.interprete pour chaque nature d'instruction, sur le programme Programmes.instructions.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class BancInterprete {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private BancInterprete() {
+
+    }
+
+    /**
+     * Retourne les cas de cette catégorie.
+     */
+    public static List<CasDeBanc> cas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+        cas.add(ligne("interprete/affectation entier", 8));
+        cas.add(ligne("interprete/affectation reel", 9));
+        cas.add(ligne("interprete/affectation chaine", 10));
+        cas.add(ligne("interprete/ecrire", 11));
+        cas.add(ligne("interprete/si", 13));
+        cas.add(ligne("interprete/tant que", 15));
+        cas.add(new CasDeBanc("interprete/lire (conversion)", false) {
+            private Variable variable;
+            private Scripting scripting;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                Interpreteur interpreteur = prepare();
+                variable = interpreteur.getVariableParNom("i");
+                scripting = interpreteur.getScripting();
+            }
+
+            @Override
+            public Object executer() {
+                variable.lis("42", scripting);
+                return variable;
+            }
+        });
+        return cas;
+    }
+
+    /**
+     * Retourne un cas interprêtant sans fin la ligne donnée.
+     *
+     * @param nom   Nom du cas.
+     * @param ligne Ligne à interprêter.
+     */
+    private static CasDeBanc ligne(String nom, int ligne) {
+        return new CasDeBanc(nom, false) {
+            private Interpreteur interpreteur;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                interpreteur = prepare();
+            }
+
+            @Override
+            public Object executer() {
+                return interpreteur.interprete(ligne);
+            }
+
+            @Override
+            public void nettoyer() {
+                interpreteur.getTraceExecution().ferme();
+            }
+        };
+    }
+
+    /**
+     * Retourne un interpréteur pas à pas préparé sur le programme Programmes.instructions.
+     *
+     * @throws Exception Si le programme ne peut pas être écrit.
+     */
+    private static Interpreteur prepare() throws Exception {
+        File fichier = Programmes.ecrit(Programmes.instructions());
+        Interpreteur interpreteur = Interpreteur.pilote(fichier.getPath());
+        interpreteur.configurerTraces(64, false);
+        interpreteur.preparer();
+        return interpreteur;
+    }
+}
@@ -0,0 +1,58 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cas mesurant la lecture et l'analyse d'un fichier source du nombre de lignes demandé.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class BancLecteur {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private BancLecteur() {
+
+    }
+
+    /**
+     * Retourne les cas de cette catégorie.
+     */
+    public static List<CasDeBanc> cas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+
+        cas.add(new CasDeBanc("lecteur/lire", true) {
+            private File fichier;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                fichier = Programmes.ecrit(Programmes.etendu(taille));
+            }
+
+            @Override
+            public Object executer() {
+                Lecteur lecteur = new Lecteur(fichier.getPath());
+                lecteur.lire();
+                return lecteur.getNombreLignes();
+            }
+        });
+
+        cas.add(new CasDeBanc("lecteur/analyse", true) {
+            private Lecteur lecteur;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                lecteur = new Lecteur(Programmes.ecrit(Programmes.etendu(taille)).getPath());
+                lecteur.lire();
+            }
+
+            @Override
+            public Object executer() {
+                return Analyseur.analyse(lecteur.getLignes());
+            }
+        });
+
+        return cas;
+    }
+}
@@ -0,0 +1,59 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cas mesurant l'exécution complète, sans affichage, de programmes riches en boucles. La taille demandée est le
+ * nombre de tours de la boucle principale.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class BancProgramme {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private BancProgramme() {
+
+    }
+
+    /**
+     * Retourne les cas de cette catégorie.
+     */
+    public static List<CasDeBanc> cas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+        cas.add(programme("programme/boucle", false, false));
+        cas.add(programme("programme/premiers", true, false));
+        cas.add(programme("programme/boucle-compile", false, true));
+        cas.add(programme("programme/premiers-compile", true, true));
+        return cas;
+    }
+
+    /**
+     * Retourne un cas exécutant entièrement un programme généré pour la taille demandée.
+     *
+     * @param nom      Nom du cas.
+     * @param premiers Vrai pour le programme Programmes.premiers, faux pour Programmes.boucle.
+     * @param compile  Vrai pour exécuter le programme compilé (la classe n'est compilée qu'à la première
+     *                 exécution, puis réutilisée).
+     */
+    private static CasDeBanc programme(String nom, boolean premiers, boolean compile) {
+        return new CasDeBanc(nom, true) {
+            private File fichier;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                fichier = Programmes.ecrit(premiers ? Programmes.premiers(taille) : Programmes.boucle(taille));
+            }
+
+            @Override
+            public Object executer() {
+                ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+                new Interpreteur(fichier.getPath(), new ByteArrayInputStream(new byte[0]), sortie).executer(compile);
+                return sortie;
+            }
+        };
+    }
+}
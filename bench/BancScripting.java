@@ -0,0 +1,144 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cas mesurant la compilation et l'évaluation des expressions par Scripting, y compris le recours à BeanShell.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class BancScripting {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private BancScripting() {
+
+    }
+
+    /**
+     * Retourne les cas de cette catégorie.
+     */
+    public static List<CasDeBanc> cas() {
+        List<CasDeBanc> cas = new ArrayList<>();
+
+        cas.add(new CasDeBanc("scripting/compile", false) {
+            private Scripting scripting;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+            }
+
+            @Override
+            public Object executer() {
+                return scripting.compile("(i + 3) * 2 mod MAX");
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/evalue", false) {
+            private Scripting scripting;
+            private Expression condition;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+                condition = scripting.compile("i < MAX et r > 0 ou s = \"x\"");
+            }
+
+            @Override
+            public Object executer() {
+                return scripting.evalue(condition);
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/calcule", false) {
+            private Scripting scripting;
+            private Expression calcul;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+                calcul = scripting.compile("(i + 3) * 2 mod MAX + r / 2");
+            }
+
+            @Override
+            public Object executer() {
+                return scripting.calcule(calcul);
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/calcule BeanShell", false) {
+            private Scripting scripting;
+            private Expression calcul;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+                calcul = scripting.compile("s.length() + i");
+            }
+
+            @Override
+            public Object executer() {
+                return scripting.calcule(calcul);
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/modifieVariable", false) {
+            private Scripting scripting;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+            }
+
+            @Override
+            public Object executer() {
+                return scripting.modifieVariable("x", "3 + 4");
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/reset + premier calcul BeanShell", false) {
+            private Scripting scripting;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                scripting = prepare().getScripting();
+            }
+
+            @Override
+            public Object executer() {
+                scripting.reset();
+                return scripting.calculeBeanShell("1 + 1");
+            }
+        });
+
+        cas.add(new CasDeBanc("scripting/creation + premier calcul BeanShell", false) {
+            private Interpreteur interpreteur;
+
+            @Override
+            public void preparer(int taille) throws Exception {
+                interpreteur = prepare();
+            }
+
+            @Override
+            public Object executer() {
+                return new Scripting(interpreteur).calculeBeanShell("1 + 1");
+            }
+        });
+
+        return cas;
+    }
+
+    /**
+     * Retourne un interpréteur pas à pas préparé sur le programme Programmes.instructions.
+     *
+     * @throws Exception Si le programme ne peut pas être écrit.
+     */
+    private static Interpreteur prepare() throws Exception {
+        File fichier = Programmes.ecrit(Programmes.instructions());
+        Interpreteur interpreteur = Interpreteur.pilote(fichier.getPath());
+        interpreteur.preparer();
+        return interpreteur;
+    }
+}
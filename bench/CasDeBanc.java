@@ -0,0 +1,68 @@
+/**
+ * Cas mesuré par le Banc. Le banc appelle 'preparer' une fois par taille, puis 'executer' autant de fois que
+ * possible pendant chaque itération ; seul le temps passé dans 'executer' est mesuré.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public abstract class CasDeBanc {
+    /**
+     * Nom du cas, tel qu'affiché dans le rapport.
+     */
+    private String nom;
+
+    /**
+     * Indique si le cas est mesuré pour chacune des tailles demandées, ou une seule fois.
+     */
+    private boolean dependDeLaTaille;
+
+    /**
+     * Initialise un cas.
+     *
+     * @param nom              Nom du cas.
+     * @param dependDeLaTaille Indique si le cas est mesuré pour chacune des tailles demandées.
+     */
+    protected CasDeBanc(String nom, boolean dependDeLaTaille) {
+        this.nom = nom;
+        this.dependDeLaTaille = dependDeLaTaille;
+    }
+
+    /**
+     * Retourne le nom du cas.
+     */
+    public String getNom() {
+        return this.nom;
+    }
+
+    /**
+     * Indique si le cas est mesuré pour chacune des tailles demandées.
+     */
+    public boolean dependDeLaTaille() {
+        return this.dependDeLaTaille;
+    }
+
+    /**
+     * Prépare le cas pour la taille donnée (nombre de lignes d'un programme, nombre de tours d'une boucle...).
+     *
+     * @param taille Taille demandée.
+     * @throws Exception Si la préparation échoue.
+     */
+    public void preparer(int taille) throws Exception {
+
+    }
+
+    /**
+     * Exécute une opération mesurée.
+     *
+     * @return Un résultat quelconque, consommé par le banc afin que l'opération ne soit pas éliminée par le JIT.
+     * @throws Exception Si l'opération échoue.
+     */
+    public abstract Object executer() throws Exception;
+
+    /**
+     * Libère les ressources du cas après sa mesure.
+     */
+    public void nettoyer() {
+
+    }
+}
@@ -0,0 +1,135 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Générateur des programmes de pseudo-code utilisés par les cas du banc.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class Programmes {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Programmes() {
+
+    }
+
+    /**
+     * Écrit le texte donné dans un fichier temporaire, supprimé à l'arrêt de la JVM.
+     *
+     * @param texte Contenu du fichier.
+     * @return Le fichier créé.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static File ecrit(String texte) throws IOException {
+        File fichier = File.createTempFile("banc", ".txt");
+        fichier.deleteOnExit();
+        Files.write(fichier.toPath(), texte.getBytes(StandardCharsets.UTF_8));
+        return fichier;
+    }
+
+    /**
+     * Programme contenant une instruction de chaque nature, sans boucle ni lecture bloquante. Les numéros de ligne
+     * des instructions sont donnés par les constantes de BancInterprete.
+     */
+    public static String instructions() {
+        return "ALGORITHME Instructions\n"
+                + "constante:\n"
+                + "\tMAX <-- 10\n"
+                + "variable:\n"
+                + "\ti : entier\n"
+                + "\tr : reel\n"
+                + "\ts : chaine\n"
+                + "DEBUT\n"
+                + "\ti <-- (i + 3) * 2 mod MAX\n"
+                + "\tr <-- i / 4.0 + 1\n"
+                + "\ts <-- \"valeur \" + i\n"
+                + "\tecrire(\"i = \", i, \" r = \", r)\n"
+                + "\tlire(i)\n"
+                + "\tsi i < MAX et r > 0 alors\n"
+                + "\tfsi\n"
+                + "\ttant que i < 0 faire\n"
+                + "\tftq\n"
+                + "FIN\n";
+    }
+
+    /**
+     * Programme dont la boucle principale fait le nombre de tours donné, avec une alternative à chaque tour.
+     *
+     * @param tours Nombre de tours de boucle.
+     */
+    public static String boucle(int tours) {
+        return "ALGORITHME Boucle\n"
+                + "constante:\n"
+                + "\tTOURS <-- " + tours + "\n"
+                + "variable:\n"
+                + "\ti : entier\n"
+                + "\ts : entier\n"
+                + "DEBUT\n"
+                + "\ttant que i < TOURS faire\n"
+                + "\t\tsi i mod 3 = 0 alors\n"
+                + "\t\t\ts <-- s + i\n"
+                + "\t\tsinon\n"
+                + "\t\t\ts <-- s - 1\n"
+                + "\t\tfsi\n"
+                + "\t\ti <-- i + 1\n"
+                + "\tftq\n"
+                + "\tecrire(s)\n"
+                + "FIN\n";
+    }
+
+    /**
+     * Programme cherchant les nombres premiers inférieurs au maximum donné, avec deux boucles imbriquées.
+     *
+     * @param max Borne supérieure de la recherche.
+     */
+    public static String premiers(int max) {
+        return "ALGORITHME Premiers\n"
+                + "constante:\n"
+                + "\tMAX <-- " + max + "\n"
+                + "variable:\n"
+                + "\tn : entier\n"
+                + "\td : entier\n"
+                + "\tpremier : booleen\n"
+                + "\tnombre : entier\n"
+                + "DEBUT\n"
+                + "\tn <-- 2\n"
+                + "\ttant que n < MAX faire\n"
+                + "\t\td <-- 2\n"
+                + "\t\tpremier <-- vrai\n"
+                + "\t\ttant que d * d <= n et premier faire\n"
+                + "\t\t\tsi n mod d = 0 alors\n"
+                + "\t\t\t\tpremier <-- faux\n"
+                + "\t\t\tfsi\n"
+                + "\t\t\td <-- d + 1\n"
+                + "\t\tftq\n"
+                + "\t\tsi premier alors\n"
+                + "\t\t\tnombre <-- nombre + 1\n"
+                + "\t\tfsi\n"
+                + "\t\tn <-- n + 1\n"
+                + "\tftq\n"
+                + "\tecrire(\"premiers : \", nombre)\n"
+                + "FIN\n";
+    }
+
+    /**
+     * Programme du nombre de lignes donné, fait d'affectations, d'écritures et d'alternatives.
+     *
+     * @param lignes Nombre approximatif de lignes.
+     */
+    public static String etendu(int lignes) {
+        StringBuilder str = new StringBuilder("ALGORITHME Long\nvariable:\n\ti : entier\n\ts : chaine\nDEBUT\n");
+
+        for (int n = 0; n < lignes / 4; n++) {
+            str.append("\ti <-- i + ").append(n).append(" // commentaire ").append(n).append('\n');
+            str.append("\tsi i > ").append(n).append(" alors\n");
+            str.append("\t\tecrire(\"ligne \", i, s)\n");
+            str.append("\tfsi\n");
+        }
+
+        return str.append("FIN\n").toString();
+    }
+}
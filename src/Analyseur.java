@@ -0,0 +1,215 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analyseur syntaxique du pseudo-code. Transforme une seule fois, au chargement, les lignes du fichier en
+ * instructions typées afin que l'interpréteur n'ait plus à manipuler le texte brut à chaque pas.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-15
+ */
+public final class Analyseur {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Analyseur() {
+
+    }
+
+    /**
+     * Analyse les lignes données et retourne le programme correspondant.
+     *
+     * @param lignes Lignes du fichier source.
+     * @return Le programme analysé, contenant une instruction par ligne.
+     */
+    public static Programme analyse(List<String> lignes) {
+        Instruction[] instructions = new Instruction[lignes.size()];
+        boolean corps = false;
+
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = analyseLigne(lignes.get(i), i, corps);
+
+            if (instructions[i].getNature() == Instruction.Nature.DEBUT) {
+                corps = true;
+            }
+        }
+
+        return new Programme(instructions);
+    }
+
+    /**
+     * Traduit une expression écrite en pseudo-code (condition d'un point d'arrêt par exemple) en texte compilable,
+     * de la même manière que les expressions du programme.
+     *
+     * @param expression Expression en pseudo-code.
+     * @return Le texte de l'expression, prêt à être compilé.
+     */
+    public static String expression(String expression) {
+        List<Jeton> jetons = Lexeur.decoupe(expression);
+        if (!jetons.isEmpty() && jetons.get(jetons.size() - 1).getType() == Jeton.Type.COMMENTAIRE) {
+            jetons.remove(jetons.size() - 1);
+        }
+
+        return texte(jetons, 0, jetons.size());
+    }
+
+    /**
+     * Analyse une ligne et retourne l'instruction correspondante.
+     *
+     * @param ligne    Ligne à analyser.
+     * @param numLigne Numéro de la ligne.
+     * @param corps    Indique si la ligne se trouve après le mot clef DEBUT.
+     */
+    private static Instruction analyseLigne(String ligne, int numLigne, boolean corps) {
+        List<Jeton> jetons = Lexeur.decoupe(ligne);
+        if (!jetons.isEmpty() && jetons.get(jetons.size() - 1).getType() == Jeton.Type.COMMENTAIRE) {
+            jetons.remove(jetons.size() - 1);
+        }
+
+        if (jetons.isEmpty()) {
+            return new Instruction(Instruction.Nature.VIDE, numLigne);
+        }
+
+        Jeton premier = jetons.get(0);
+        Jeton dernier = jetons.get(jetons.size() - 1);
+        int taille = jetons.size();
+
+        if (premier.estMot("ALGORITHME")) {
+            return new Instruction(Instruction.Nature.ALGORITHME, numLigne);
+        } else if (taille == 1 && premier.estMot("DEBUT")) {
+            return new Instruction(Instruction.Nature.DEBUT, numLigne);
+        } else if (taille == 1 && premier.estMot("FIN")) {
+            return new Instruction(Instruction.Nature.FIN, numLigne);
+        }
+
+        if (!corps) {
+            if (taille == 2 && premier.getType() == Jeton.Type.IDENTIFIANT && dernier.getType() == Jeton.Type.DEUX_POINTS) {
+                return new Instruction(Instruction.Nature.SECTION, numLigne);
+            } else if (taille == 3 && premier.getType() == Jeton.Type.IDENTIFIANT
+                    && jetons.get(1).getType() == Jeton.Type.DEUX_POINTS && dernier.getType() == Jeton.Type.IDENTIFIANT) {
+                Instruction declaration = new Instruction(Instruction.Nature.DECLARATION, numLigne);
+                declaration.setNom(premier.getTexte());
+                declaration.setType(dernier.getTexte());
+                return declaration;
+            } else if (taille > 2 && premier.getType() == Jeton.Type.IDENTIFIANT
+                    && jetons.get(1).getType() == Jeton.Type.AFFECTATION) {
+                Instruction constante = new Instruction(Instruction.Nature.CONSTANTE, numLigne);
+                constante.setNom(premier.getTexte());
+                constante.setExpression(texte(jetons, 2, taille));
+                return constante;
+            }
+
+            return new Instruction(Instruction.Nature.INCONNUE, numLigne);
+        }
+
+        if (taille == 1 && premier.estMot("sinon")) {
+            return new Instruction(Instruction.Nature.SINON, numLigne);
+        } else if (taille == 1 && premier.estMot("fsi")) {
+            return new Instruction(Instruction.Nature.FSI, numLigne);
+        } else if (taille == 1 && premier.estMot("ftq")) {
+            return new Instruction(Instruction.Nature.FTQ, numLigne);
+        } else if (taille > 2 && premier.estMot("si") && dernier.estMot("alors")) {
+            Instruction si = new Instruction(Instruction.Nature.SI, numLigne);
+            si.setExpression(texte(jetons, 1, taille - 1));
+            return si;
+        } else if (taille > 3 && premier.estMot("tant") && jetons.get(1).estMot("que") && dernier.estMot("faire")) {
+            Instruction tantQue = new Instruction(Instruction.Nature.TANT_QUE, numLigne);
+            tantQue.setExpression(texte(jetons, 2, taille - 1));
+            return tantQue;
+        } else if (taille > 2 && premier.getType() == Jeton.Type.IDENTIFIANT
+                && jetons.get(1).getType() == Jeton.Type.AFFECTATION) {
+            Instruction affectation = new Instruction(Instruction.Nature.AFFECTATION, numLigne);
+            affectation.setNom(premier.getTexte());
+            affectation.setExpression(texte(jetons, 2, taille));
+            return affectation;
+        } else if (taille > 2 && premier.getType() == Jeton.Type.IDENTIFIANT
+                && jetons.get(1).getType() == Jeton.Type.PARENTHESE_OUVRANTE
+                && dernier.getType() == Jeton.Type.PARENTHESE_FERMANTE) {
+            return analyseAppel(jetons, numLigne);
+        }
+
+        return new Instruction(Instruction.Nature.INCONNUE, numLigne);
+    }
+
+    /**
+     * Analyse un appel de fonction (ecrire, lire, ou autre).
+     *
+     * @param jetons   Jetons de la ligne, l'appel occupant la ligne entière.
+     * @param numLigne Numéro de la ligne.
+     */
+    private static Instruction analyseAppel(List<Jeton> jetons, int numLigne) {
+        String nomFonction = jetons.get(0).getTexte();
+        List<String> arguments = new ArrayList<>();
+
+        int profondeur = 0;
+        int debutArgument = 2;
+        for (int i = 2; i < jetons.size() - 1; i++) {
+            Jeton jeton = jetons.get(i);
+
+            if (jeton.getType() == Jeton.Type.PARENTHESE_OUVRANTE) {
+                profondeur++;
+            } else if (jeton.getType() == Jeton.Type.PARENTHESE_FERMANTE) {
+                profondeur--;
+            } else if (jeton.getType() == Jeton.Type.VIRGULE && profondeur == 0) {
+                arguments.add(texte(jetons, debutArgument, i));
+                debutArgument = i + 1;
+            }
+        }
+
+        if (debutArgument < jetons.size() - 1) {
+            arguments.add(texte(jetons, debutArgument, jetons.size() - 1));
+        }
+
+        Instruction appel;
+        switch (nomFonction) {
+            case "ecrire":
+                appel = new Instruction(Instruction.Nature.ECRIRE, numLigne);
+                break;
+            case "lire":
+                if (arguments.size() != 1) {
+                    return new Instruction(Instruction.Nature.INCONNUE, numLigne);
+                }
+
+                appel = new Instruction(Instruction.Nature.LIRE, numLigne);
+                appel.setNom(arguments.get(0));
+                break;
+            default:
+                appel = new Instruction(Instruction.Nature.APPEL, numLigne);
+                appel.setNom(nomFonction);
+                break;
+        }
+
+        appel.setArguments(arguments.toArray(new String[0]));
+        return appel;
+    }
+
+    /**
+     * Reconstitue le texte d'une expression à partir de ses jetons, en traduisant les opérateurs logiques du
+     * pseudo-code ('ou', 'et') vers leur équivalent Java.
+     *
+     * @param jetons Jetons de la ligne.
+     * @param de     Index du premier jeton de l'expression (inclus).
+     * @param a      Index du dernier jeton de l'expression (exclu).
+     */
+    private static String texte(List<Jeton> jetons, int de, int a) {
+        StringBuilder str = new StringBuilder();
+
+        for (int i = de; i < a; i++) {
+            Jeton jeton = jetons.get(i);
+
+            if (i > de) {
+                str.append(' ');
+            }
+
+            if (jeton.estMot("ou")) {
+                str.append("||");
+            } else if (jeton.estMot("et")) {
+                str.append("&&");
+            } else {
+                str.append(jeton.getTexte());
+            }
+        }
+
+        return str.toString();
+    }
+}
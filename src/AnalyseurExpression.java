@@ -0,0 +1,343 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analyseur d'expressions du pseudo-code. Transforme le texte d'une expression en un arbre d'Expression, par
+ * descente récursive. Les priorités, de la plus faible à la plus forte, sont : 'ou', 'et', les comparaisons,
+ * l'addition et la soustraction, la multiplication, la division et le modulo, puis les opérateurs unaires.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-22
+ */
+public final class AnalyseurExpression {
+    /**
+     * Jetons de l'expression à analyser.
+     */
+    private List<Jeton> jetons;
+
+    /**
+     * Index du prochain jeton à consommer.
+     */
+    private int position;
+
+    /**
+     * Interpréteur permettant de résoudre les variables référencées.
+     */
+    private Interpreteur interpreteur;
+
+    /**
+     * Initialise l'analyse d'une expression.
+     *
+     * @param texte        Texte de l'expression.
+     * @param interpreteur Interpréteur permettant de résoudre les variables.
+     */
+    private AnalyseurExpression(String texte, Interpreteur interpreteur) {
+        this.jetons = Lexeur.decoupe(texte);
+        this.position = 0;
+        this.interpreteur = interpreteur;
+    }
+
+    /**
+     * Compile le texte donné en une expression évaluable.
+     *
+     * @param texte        Texte de l'expression.
+     * @param interpreteur Interpréteur permettant de résoudre les variables.
+     * @return L'expression compilée.
+     * @throws IllegalArgumentException Si l'expression n'est pas reconnue.
+     */
+    public static Expression compile(String texte, Interpreteur interpreteur) {
+        AnalyseurExpression analyseur = new AnalyseurExpression(texte, interpreteur);
+        Expression expression = analyseur.ou();
+
+        if (analyseur.position < analyseur.jetons.size()) {
+            throw new IllegalArgumentException("Jeton inattendu : " + analyseur.jetons.get(analyseur.position).getTexte());
+        }
+
+        return expression;
+    }
+
+    /**
+     * Analyse une disjonction.
+     */
+    private Expression ou() {
+        Expression gauche = et();
+
+        while (accepte("ou") || accepte("||")) {
+            gauche = new Expression.Binaire(Expression.Operateur.OU, gauche, et());
+        }
+
+        return gauche;
+    }
+
+    /**
+     * Analyse une conjonction.
+     */
+    private Expression et() {
+        Expression gauche = comparaison();
+
+        while (accepte("et") || accepte("&&")) {
+            gauche = new Expression.Binaire(Expression.Operateur.ET, gauche, comparaison());
+        }
+
+        return gauche;
+    }
+
+    /**
+     * Analyse une comparaison.
+     */
+    private Expression comparaison() {
+        Expression gauche = addition();
+
+        while (true) {
+            Expression.Operateur operateur;
+            if (accepte("=") || accepte("==")) {
+                operateur = Expression.Operateur.EGAL;
+            } else if (accepte("<>") || accepte("!=")) {
+                operateur = Expression.Operateur.DIFFERENT;
+            } else if (accepte("<=")) {
+                operateur = Expression.Operateur.INFERIEUR_EGAL;
+            } else if (accepte(">=")) {
+                operateur = Expression.Operateur.SUPERIEUR_EGAL;
+            } else if (accepte("<")) {
+                operateur = Expression.Operateur.INFERIEUR;
+            } else if (accepte(">")) {
+                operateur = Expression.Operateur.SUPERIEUR;
+            } else {
+                return gauche;
+            }
+
+            gauche = new Expression.Binaire(operateur, gauche, addition());
+        }
+    }
+
+    /**
+     * Analyse une addition ou une soustraction.
+     */
+    private Expression addition() {
+        Expression gauche = multiplication();
+
+        while (true) {
+            if (accepte("+")) {
+                gauche = new Expression.Binaire(Expression.Operateur.PLUS, gauche, multiplication());
+            } else if (accepte("-")) {
+                gauche = new Expression.Binaire(Expression.Operateur.MOINS, gauche, multiplication());
+            } else {
+                return gauche;
+            }
+        }
+    }
+
+    /**
+     * Analyse une multiplication, une division ou un modulo.
+     */
+    private Expression multiplication() {
+        Expression gauche = unaire();
+
+        while (true) {
+            if (accepte("*")) {
+                gauche = new Expression.Binaire(Expression.Operateur.FOIS, gauche, unaire());
+            } else if (accepte("/")) {
+                gauche = new Expression.Binaire(Expression.Operateur.DIVISE, gauche, unaire());
+            } else if (accepte("mod") || accepte("%")) {
+                gauche = new Expression.Binaire(Expression.Operateur.MODULO, gauche, unaire());
+            } else {
+                return gauche;
+            }
+        }
+    }
+
+    /**
+     * Analyse une opération unaire.
+     */
+    private Expression unaire() {
+        if (accepte("-")) {
+            return new Expression.Unaire(false, unaire());
+        } else if (accepte("+")) {
+            return unaire();
+        } else if (accepte("non") || accepte("!")) {
+            return new Expression.Unaire(true, unaire());
+        }
+
+        return primaire();
+    }
+
+    /**
+     * Analyse un élément primaire : littéral, variable, appel de fonction ou expression parenthésée.
+     */
+    private Expression primaire() {
+        Jeton jeton = suivant();
+
+        switch (jeton.getType()) {
+            case NOMBRE:
+                return new Expression.Constante(nombre(jeton.getTexte()));
+            case CHAINE:
+                return new Expression.Constante(litteral(jeton.getTexte()));
+            case CARACTERE: {
+                String caractere = litteral(jeton.getTexte());
+                if (caractere.length() != 1) {
+                    throw new IllegalArgumentException("Caractère invalide : " + jeton.getTexte());
+                }
+
+                return new Expression.Constante(caractere.charAt(0));
+            }
+            case PARENTHESE_OUVRANTE: {
+                Expression expression = ou();
+                attend(Jeton.Type.PARENTHESE_FERMANTE);
+                return expression;
+            }
+            case IDENTIFIANT:
+                return identifiant(jeton.getTexte());
+            default:
+                throw new IllegalArgumentException("Jeton inattendu : " + jeton.getTexte());
+        }
+    }
+
+    /**
+     * Analyse un identifiant : booléen littéral, appel de fonction ou variable.
+     *
+     * @param nom Identifiant rencontré.
+     */
+    private Expression identifiant(String nom) {
+        switch (nom) {
+            case "vrai":
+            case "vraie":
+            case "true":
+                return new Expression.Constante(true);
+            case "faux":
+            case "fausse":
+            case "false":
+                return new Expression.Constante(false);
+            default:
+                break;
+        }
+
+        if (position < jetons.size() && jetons.get(position).getType() == Jeton.Type.PARENTHESE_OUVRANTE) {
+            position++;
+
+            Fonction fonction = Bibliotheque.getFonction(nom);
+            if (fonction == null) {
+                throw new IllegalArgumentException("Fonction inconnue : " + nom);
+            }
+
+            if (interpreteur.getProfileur() != null) {
+                fonction = interpreteur.getProfileur().mesure(nom, fonction);
+            }
+
+            List<Expression> arguments = new ArrayList<>();
+            if (!accepte(")")) {
+                do {
+                    arguments.add(ou());
+                } while (accepte(","));
+
+                attend(Jeton.Type.PARENTHESE_FERMANTE);
+            }
+
+            if (arguments.size() != fonction.getParametres().length) {
+                throw new IllegalArgumentException("Nombre d'arguments incorrect : " + nom);
+            }
+
+            return new Expression.Appel(fonction, arguments.toArray(new Expression[0]));
+        }
+
+        Variable variable = interpreteur.getVariableParNom(nom);
+        if (variable == null) {
+            throw new IllegalArgumentException("Variable inconnue : " + nom);
+        }
+
+        return new Expression.Reference(variable);
+    }
+
+    /**
+     * Consomme le prochain jeton s'il a le texte donné.
+     *
+     * @param texte Texte attendu.
+     * @return Vrai si le jeton a été consommé.
+     */
+    private boolean accepte(String texte) {
+        if (position < jetons.size()) {
+            Jeton jeton = jetons.get(position);
+            if (jeton.getTexte().equals(texte) && jeton.getType() != Jeton.Type.CHAINE
+                    && jeton.getType() != Jeton.Type.CARACTERE) {
+                position++;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Consomme le prochain jeton, qui doit être du type donné.
+     *
+     * @param type Type attendu.
+     */
+    private void attend(Jeton.Type type) {
+        Jeton jeton = suivant();
+        if (jeton.getType() != type) {
+            throw new IllegalArgumentException("Jeton inattendu : " + jeton.getTexte());
+        }
+    }
+
+    /**
+     * Consomme et retourne le prochain jeton.
+     */
+    private Jeton suivant() {
+        if (position >= jetons.size()) {
+            throw new IllegalArgumentException("Fin d'expression inattendue.");
+        }
+
+        return jetons.get(position++);
+    }
+
+    /**
+     * Convertit un nombre littéral en entier, entier long ou réel.
+     *
+     * @param texte Texte du nombre.
+     */
+    private static Object nombre(String texte) {
+        if (texte.contains(".")) {
+            return Double.valueOf(texte);
+        }
+
+        long valeur = Long.parseLong(texte);
+        if (valeur <= Integer.MAX_VALUE) {
+            return (int) valeur;
+        }
+
+        return valeur;
+    }
+
+    /**
+     * Retourne le contenu d'un littéral (chaîne ou caractère) sans ses délimiteurs, échappements interprétés.
+     *
+     * @param texte Texte du littéral, délimiteurs compris.
+     */
+    private static String litteral(String texte) {
+        if (texte.length() < 2 || texte.charAt(texte.length() - 1) != texte.charAt(0)) {
+            throw new IllegalArgumentException("Littéral non fermé : " + texte);
+        }
+
+        StringBuilder str = new StringBuilder();
+        for (int i = 1; i < texte.length() - 1; i++) {
+            char c = texte.charAt(i);
+
+            if (c == '\\' && i + 1 < texte.length() - 1) {
+                c = texte.charAt(++i);
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            str.append(c);
+        }
+
+        return str.toString();
+    }
+}
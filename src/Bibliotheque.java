@@ -0,0 +1,69 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Registre des fonctions natives mises à disposition du pseudo-code. Il contient les FonctionsStandard, puis celles
+ * des FournisseurFonctions découverts sur le classpath, qui peuvent les remplacer. Les fonctions sont résolues une
+ * seule fois, à la compilation des expressions, et appelées directement ; Scripting.creerFonctions les rend aussi
+ * disponibles aux expressions évaluées par BeanShell.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-22
+ */
+public final class Bibliotheque {
+    /**
+     * Fonctions disponibles, indexées par leur nom.
+     */
+    private static final Map<String, Fonction> FONCTIONS = new LinkedHashMap<>();
+
+    static {
+        enregistre(new FonctionsStandard());
+
+        try {
+            for (FournisseurFonctions fournisseur : ServiceLoader.load(FournisseurFonctions.class)) {
+                enregistre(fournisseur);
+            }
+        } catch (ServiceConfigurationError e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Bibliotheque() {
+
+    }
+
+    /**
+     * Ajoute au registre les fonctions d'un fournisseur, en remplaçant celles de même nom.
+     *
+     * @param fournisseur Fournisseur des fonctions.
+     */
+    private static void enregistre(FournisseurFonctions fournisseur) {
+        for (Fonction fonction : fournisseur.getFonctions()) {
+            FONCTIONS.put(fonction.getNom(), fonction);
+        }
+    }
+
+    /**
+     * Retourne la fonction portant le nom donné.
+     *
+     * @param nom Nom de la fonction.
+     * @return La fonction, ou null si elle n'existe pas.
+     */
+    public static Fonction getFonction(String nom) {
+        return FONCTIONS.get(nom);
+    }
+
+    /**
+     * Retourne toutes les fonctions disponibles.
+     */
+    public static Collection<Fonction> getFonctions() {
+        return Collections.unmodifiableCollection(FONCTIONS.values());
+    }
+}
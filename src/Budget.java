@@ -0,0 +1,125 @@
+/**
+ * Limites imposées à une exécution sans surveillance (exécution d'une traite, 'continuer', fin de boucle...), afin
+ * qu'un programme qui ne se termine pas soit interrompu proprement. Une limite nulle signifie l'absence de limite.
+ * <p>
+ * Les limites portent sur le programme entier (nombre total d'étapes, durée de l'exécution sans surveillance) et
+ * sur chaque boucle (nombre d'étapes et durée depuis l'entrée dans la boucle). Elles ne sont vérifiées qu'au retour
+ * de chaque boucle : un programme sans boucle se termine toujours.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-19
+ */
+public final class Budget {
+    /**
+     * Nombre maximal d'étapes du programme.
+     */
+    private long etapesProgramme;
+
+    /**
+     * Durée maximale d'une exécution sans surveillance, en millisecondes.
+     */
+    private long dureeProgramme;
+
+    /**
+     * Nombre maximal d'étapes depuis l'entrée dans une boucle.
+     */
+    private long etapesBoucle;
+
+    /**
+     * Durée maximale depuis l'entrée dans une boucle, en millisecondes.
+     */
+    private long dureeBoucle;
+
+    /**
+     * Initialise un budget sans limite.
+     */
+    public Budget() {
+        this(0, 0, 0, 0);
+    }
+
+    /**
+     * Initialise un budget.
+     *
+     * @param etapesProgramme Nombre maximal d'étapes du programme, ou 0.
+     * @param dureeProgramme  Durée maximale d'une exécution sans surveillance en millisecondes, ou 0.
+     * @param etapesBoucle    Nombre maximal d'étapes depuis l'entrée dans une boucle, ou 0.
+     * @param dureeBoucle     Durée maximale depuis l'entrée dans une boucle en millisecondes, ou 0.
+     */
+    public Budget(long etapesProgramme, long dureeProgramme, long etapesBoucle, long dureeBoucle) {
+        this.etapesProgramme = etapesProgramme;
+        this.dureeProgramme = dureeProgramme;
+        this.etapesBoucle = etapesBoucle;
+        this.dureeBoucle = dureeBoucle;
+    }
+
+    /**
+     * Modifie l'une des limites à partir d'une option de la ligne de commande : -n (étapes du programme), -w (durée
+     * du programme), -nb (étapes par boucle) ou -wb (durée par boucle).
+     *
+     * @param option Option rencontrée.
+     * @param valeur Valeur de l'option.
+     * @return Vrai si l'option concerne le budget.
+     */
+    public boolean option(String option, String valeur) {
+        switch (option) {
+            case "-n":
+                etapesProgramme = Long.parseLong(valeur);
+                return true;
+            case "-w":
+                dureeProgramme = Long.parseLong(valeur);
+                return true;
+            case "-nb":
+                etapesBoucle = Long.parseLong(valeur);
+                return true;
+            case "-wb":
+                dureeBoucle = Long.parseLong(valeur);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Indique si au moins une limite est fixée.
+     */
+    public boolean estLimite() {
+        return etapesProgramme > 0 || dureeProgramme > 0 || etapesBoucle > 0 || dureeBoucle > 0;
+    }
+
+    /**
+     * Indique si au moins une durée est limitée.
+     */
+    public boolean limiteDuree() {
+        return dureeProgramme > 0 || dureeBoucle > 0;
+    }
+
+    /**
+     * Vérifie les limites au retour d'une boucle.
+     *
+     * @param boucle            Ligne du 'tant que'.
+     * @param iterations        Nombre d'itérations de la boucle depuis son entrée.
+     * @param etape             Nombre d'étapes du programme.
+     * @param etapeEntree       Étape à laquelle la boucle a été atteinte.
+     * @param debutSurveillance Instant du début de l'exécution sans surveillance, en nanosecondes.
+     * @param entree            Instant de l'entrée dans la boucle, en nanosecondes.
+     * @throws DepassementBudget Si une limite est dépassée.
+     */
+    public void verifie(int boucle, long iterations, long etape, long etapeEntree, long debutSurveillance, long entree) {
+        if (etapesProgramme > 0 && etape >= etapesProgramme) {
+            throw new DepassementBudget("étapes du programme", boucle, iterations, etape);
+        } else if (etapesBoucle > 0 && etape - etapeEntree >= etapesBoucle) {
+            throw new DepassementBudget("étapes de la boucle", boucle, iterations, etape);
+        }
+
+        if (!limiteDuree()) {
+            return;
+        }
+
+        long maintenant = System.nanoTime();
+        if (dureeProgramme > 0 && maintenant - debutSurveillance >= dureeProgramme * 1_000_000) {
+            throw new DepassementBudget("durée du programme", boucle, iterations, etape);
+        } else if (dureeBoucle > 0 && maintenant - Math.max(entree, debutSurveillance) >= dureeBoucle * 1_000_000) {
+            throw new DepassementBudget("durée de la boucle", boucle, iterations, etape);
+        }
+    }
+}
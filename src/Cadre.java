@@ -0,0 +1,110 @@
+import java.util.Arrays;
+
+/**
+ * Cadre d'exécution contenant la valeur de toutes les variables d'un programme. Chaque variable reçoit, à sa
+ * création, un emplacement fixe dans le tableau correspondant à son type ; les valeurs sont ainsi stockées sous
+ * forme primitive et ne sont converties en texte que pour l'affichage.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-02-12
+ */
+public final class Cadre {
+    /**
+     * Valeurs des variables de type entier.
+     */
+    long[] entiers;
+
+    /**
+     * Valeurs des variables de type réel.
+     */
+    double[] reels;
+
+    /**
+     * Valeurs des variables de type booléen.
+     */
+    boolean[] booleens;
+
+    /**
+     * Valeurs des variables de type caractère.
+     */
+    char[] caracteres;
+
+    /**
+     * Valeurs des variables de type chaîne.
+     */
+    String[] chaines;
+
+    /**
+     * Valeurs des variables d'un autre type.
+     */
+    Object[] objets;
+
+    /**
+     * Initialise un cadre vide.
+     */
+    public Cadre() {
+        entiers = new long[0];
+        reels = new double[0];
+        booleens = new boolean[0];
+        caracteres = new char[0];
+        chaines = new String[0];
+        objets = new Object[0];
+    }
+
+    /**
+     * Réserve un nouvel emplacement pour une variable du type donné.
+     *
+     * @param type Type de la variable.
+     * @return L'emplacement réservé, dans le tableau correspondant au type.
+     */
+    public int alloue(Variable.Type type) {
+        switch (type) {
+            case ENTIER:
+                entiers = Arrays.copyOf(entiers, entiers.length + 1);
+                return entiers.length - 1;
+            case REEL:
+                reels = Arrays.copyOf(reels, reels.length + 1);
+                return reels.length - 1;
+            case BOOLEEN:
+                booleens = Arrays.copyOf(booleens, booleens.length + 1);
+                return booleens.length - 1;
+            case CARACTERE:
+                caracteres = Arrays.copyOf(caracteres, caracteres.length + 1);
+                return caracteres.length - 1;
+            case CHAINE:
+                chaines = Arrays.copyOf(chaines, chaines.length + 1);
+                return chaines.length - 1;
+            default:
+                objets = Arrays.copyOf(objets, objets.length + 1);
+                return objets.length - 1;
+        }
+    }
+
+    /**
+     * Retourne une copie indépendante de ce cadre.
+     */
+    public Cadre copie() {
+        Cadre copie = new Cadre();
+        copie.entiers = entiers.clone();
+        copie.reels = reels.clone();
+        copie.booleens = booleens.clone();
+        copie.caracteres = caracteres.clone();
+        copie.chaines = chaines.clone();
+        copie.objets = objets.clone();
+        return copie;
+    }
+
+    /**
+     * Remplace les valeurs de ce cadre par celles du cadre donné, qui doit avoir la même structure.
+     *
+     * @param source Cadre dont les valeurs sont recopiées.
+     */
+    public void restaure(Cadre source) {
+        System.arraycopy(source.entiers, 0, entiers, 0, entiers.length);
+        System.arraycopy(source.reels, 0, reels, 0, reels.length);
+        System.arraycopy(source.booleens, 0, booleens, 0, booleens.length);
+        System.arraycopy(source.caracteres, 0, caracteres, 0, caracteres.length);
+        System.arraycopy(source.chaines, 0, chaines, 0, chaines.length);
+        System.arraycopy(source.objets, 0, objets, 0, objets.length);
+    }
+}
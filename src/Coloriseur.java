@@ -0,0 +1,91 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coloration syntaxique d'une ligne de pseudo-code. La ligne est découpée une seule fois par le Lexeur, puis
+ * chaque jeton est entouré de sa couleur : les guillemets échappés et les '//' situés dans une chaîne ne sont donc
+ * plus confondus avec la fin d'une chaîne ou le début d'un commentaire.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class Coloriseur {
+    private static final String ANSI_RESET = "\u001B[0m";
+
+    private static final String ANSI_GREEN = "\u001B[32m";
+    private static final String ANSI_YELLOW = "\u001B[33m";
+    private static final String ANSI_BLUE = "\u001B[34m";
+    private static final String ANSI_PURPLE = "\u001B[35m";
+
+    /**
+     * Mots clef du pseudo-code.
+     */
+    private static final Set<String> MOTS_CLEF = new HashSet<>(Arrays.asList(
+            "ALGORITHME", "DEBUT", "FIN", "si", "alors", "sinon", "fsi", "tant", "que", "faire", "ftq",
+            "et", "ou", "non", "mod", "vrai", "faux"));
+
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Coloriseur() {
+
+    }
+
+    /**
+     * Colorie la ligne donnée : mots clef, chaînes et caractères, appels de fonction et commentaire. Le texte situé
+     * entre les jetons (espaces, alignement) est conservé tel quel.
+     *
+     * @param ligne Ligne à colorier.
+     * @return La ligne coloriée.
+     */
+    public static String colorie(String ligne) {
+        List<Jeton> jetons = Lexeur.decoupe(ligne);
+        StringBuilder str = new StringBuilder(ligne.length() + jetons.size() * 8);
+
+        int position = 0;
+        for (int i = 0; i < jetons.size(); i++) {
+            Jeton jeton = jetons.get(i);
+            str.append(ligne, position, jeton.getDebut());
+
+            String couleur = couleur(jeton, i + 1 < jetons.size() ? jetons.get(i + 1) : null);
+            if (couleur == null) {
+                str.append(ligne, jeton.getDebut(), jeton.getFin());
+            } else {
+                str.append(couleur).append(ligne, jeton.getDebut(), jeton.getFin()).append(ANSI_RESET);
+            }
+
+            position = jeton.getFin();
+        }
+
+        str.append(ligne, position, ligne.length());
+        return str.toString();
+    }
+
+    /**
+     * Retourne la couleur du jeton donné, ou null s'il n'est pas colorié.
+     *
+     * @param jeton   Jeton à colorier.
+     * @param suivant Jeton suivant sur la ligne, ou null s'il s'agit du dernier.
+     */
+    private static String couleur(Jeton jeton, Jeton suivant) {
+        switch (jeton.getType()) {
+            case COMMENTAIRE:
+                return ANSI_GREEN;
+            case CHAINE:
+            case CARACTERE:
+                return ANSI_BLUE;
+            case IDENTIFIANT:
+                if (MOTS_CLEF.contains(jeton.getTexte())) {
+                    return ANSI_PURPLE;
+                } else if (suivant != null && suivant.getType() == Jeton.Type.PARENTHESE_OUVRANTE) {
+                    return ANSI_YELLOW;
+                }
+
+                return null;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,870 @@
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compilation d'un programme entier en une classe Java, pour les exécutions d'une traite où seule la vitesse
+ * compte (correction par lots, exercices de tri ou de calcul).
+ * <p>
+ * Le programme, une fois optimisé, est traduit en source Java : chaque variable devient une variable locale de
+ * type primitif, chaque 'si' et chaque 'tant que' un bloc Java, et les expressions compilées sont écrites
+ * directement en Java par leurs noeuds (voir Expression.traduit). La classe est compilée en mémoire par le
+ * compilateur du JDK puis chargée ; le JIT optimise ensuite les boucles de l'élève comme du code natif.
+ * <p>
+ * La traduction reproduit exactement l'interprétation : mêmes conversions, mêmes erreurs (une condition en
+ * erreur est fausse, une affectation en erreur laisse la variable inchangée), mêmes étapes comptées lorsque le
+ * Budget est limité. Les expressions que la traduction ne sait pas écrire (BeanShell) restent évaluées par leur
+ * noeud, après avoir recopié les variables locales dans le Cadre. Les lectures, écritures et vérifications du
+ * budget passent par l'Environnement fourni par l'interpréteur.
+ * <p>
+ * Deux programmes produisant le même source partagent la même classe, qui n'est compilée qu'une fois par JVM.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class Compilateur {
+    /**
+     * Services de l'interpréteur utilisés par le programme compilé.
+     */
+    public interface Environnement {
+        /**
+         * Écrit le message d'un ecrire(), sauf s'il est null (message en erreur).
+         *
+         * @param message Message à écrire.
+         */
+        void ecrire(Object message);
+
+        /**
+         * Effectue un lire() sur la variable donnée.
+         *
+         * @param variable Variable lue.
+         * @param ligne    Ligne du lire().
+         */
+        void lire(Variable variable, int ligne);
+
+        /**
+         * Vérifie le budget au retour d'une boucle.
+         *
+         * @param boucle      Ligne du 'tant que'.
+         * @param iterations  Nombre d'itérations de la boucle depuis son entrée.
+         * @param etape       Nombre d'étapes du programme.
+         * @param etapeEntree Étape à laquelle la boucle a été atteinte.
+         * @param entree      Instant de l'entrée dans la boucle, en nanosecondes.
+         * @throws DepassementBudget Si une limite est dépassée.
+         */
+        void verifie(int boucle, long iterations, long etape, long etapeEntree, long entree);
+    }
+
+    /**
+     * Programme compilé, implémenté par la classe générée.
+     */
+    public interface Execution {
+        /**
+         * Exécute le programme. Les variables sont lues dans leur Cadre au début, et y sont recopiées à la fin.
+         *
+         * @param env         Services de l'interpréteur.
+         * @param variables   Variables du programme.
+         * @param expressions Expressions évaluées par leur noeud.
+         * @param constantes  Valeurs des constantes utilisées sous forme d'objet.
+         */
+        void execute(Environnement env, Variable[] variables, Expression[] expressions, Object[] constantes);
+    }
+
+    /**
+     * Nom de la classe générée.
+     */
+    private static final String NOM_CLASSE = "AlgorithmeCompile";
+
+    /**
+     * Nombre maximal de classes conservées. Chacune garde son chargeur de classes en vie ; au-delà, la moins
+     * récemment utilisée est oubliée.
+     */
+    private static final int CAPACITE_CLASSES = 64;
+
+    /**
+     * Compilation de chaque source déjà demandé, de la moins à la plus récemment utilisée. Chaque source n'est
+     * compilé qu'une fois, même si plusieurs threads le demandent en même temps : les suivants attendent le résultat
+     * du premier. Accès synchronisé sur la table.
+     */
+    private static final Map<String, FutureTask<Class<?>>> CLASSES = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Programme traduit.
+     */
+    private Programme programme;
+
+    /**
+     * Variables du programme, dans l'ordre du tableau transmis à la classe générée.
+     */
+    private List<Variable> variables;
+
+    /**
+     * Indice de chaque variable dans le tableau transmis à la classe générée.
+     */
+    private Map<Variable, Integer> indices;
+
+    /**
+     * Expressions évaluées par leur noeud.
+     */
+    private List<Expression> expressions;
+
+    /**
+     * Valeurs des constantes utilisées sous forme d'objet.
+     */
+    private List<Object> constantes;
+
+    /**
+     * Indique si les étapes sont comptées et le budget vérifié au retour des boucles.
+     */
+    private boolean surveille;
+
+    /**
+     * Indique si l'instant d'entrée dans chaque boucle est relevé.
+     */
+    private boolean chronometre;
+
+    /**
+     * Indique si l'expression en cours de traduction fait évaluer l'un de ses noeuds, qui lira les variables
+     * dans le Cadre.
+     */
+    private boolean delegation;
+
+    /**
+     * Source de la classe générée.
+     */
+    private StringBuilder source;
+
+    /**
+     * Niveau d'indentation courant du source.
+     */
+    private int indentation;
+
+    /**
+     * Programme compilé, une fois la classe chargée.
+     */
+    private Execution execution;
+
+    /**
+     * Traduit le programme. Ses expressions doivent déjà avoir été compilées et optimisées.
+     *
+     * @param programme Programme à traduire.
+     * @param variables Variables et constantes déclarées.
+     * @param budget    Limites de l'exécution.
+     */
+    private Compilateur(Programme programme, List<Variable> variables, Budget budget) {
+        this.programme = programme;
+        this.variables = new ArrayList<>(variables);
+        this.indices = new HashMap<>();
+        this.expressions = new ArrayList<>();
+        this.constantes = new ArrayList<>();
+        this.surveille = budget.estLimite();
+        this.chronometre = budget.limiteDuree();
+        this.source = new StringBuilder();
+
+        for (int i = 0; i < this.variables.size(); i++) {
+            indices.put(this.variables.get(i), i);
+        }
+
+        genere();
+    }
+
+    /**
+     * Traduit et compile le programme donné.
+     *
+     * @param programme Programme à compiler, dont les expressions ont été compilées et optimisées.
+     * @param variables Variables et constantes déclarées.
+     * @param budget    Limites de l'exécution.
+     * @return Le programme compilé, ou null si la compilation est impossible (pas de compilateur dans la JVM,
+     * programme trop long...), la raison étant écrite sur la sortie d'erreur.
+     */
+    public static Compilateur compile(Programme programme, List<Variable> variables, Budget budget) {
+        long debut = Metriques.debut();
+        Compilateur compilateur = new Compilateur(programme, variables, budget);
+
+        try {
+            Class<?> classe = classe(compilateur.getSource());
+            if (classe == null) {
+                return null;
+            }
+
+            compilateur.execution = (Execution) classe.getDeclaredConstructor().newInstance();
+            return compilateur;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            Metriques.duree("compilateur.compilation", debut);
+        }
+    }
+
+    /**
+     * Exécute le programme compilé.
+     *
+     * @param env Services de l'interpréteur.
+     * @throws DepassementBudget Si le budget est dépassé ; les variables contiennent alors leur dernière valeur.
+     */
+    public void execute(Environnement env) {
+        execution.execute(env, variables.toArray(new Variable[0]), expressions.toArray(new Expression[0]),
+                constantes.toArray());
+    }
+
+    /**
+     * Retourne le source Java de la classe générée.
+     */
+    public String getSource() {
+        return this.source.toString();
+    }
+
+    /**
+     * Retourne la classe compilée à partir du source donné, en la compilant si aucun autre programme ne l'a déjà
+     * fait ou n'est en train de le faire. Un échec n'est pas conservé.
+     *
+     * @param source Source de la classe.
+     * @return La classe, ou null si la compilation a échoué.
+     */
+    private static Class<?> classe(String source) throws InterruptedException, ExecutionException {
+        FutureTask<Class<?>> compilation;
+        boolean nouvelle = false;
+
+        synchronized (CLASSES) {
+            compilation = CLASSES.get(source);
+            if (compilation == null) {
+                compilation = new FutureTask<>(() -> charge(source));
+                CLASSES.put(source, compilation);
+                nouvelle = true;
+
+                if (CLASSES.size() > CAPACITE_CLASSES) {
+                    Iterator<String> plusAncienne = CLASSES.keySet().iterator();
+                    plusAncienne.next();
+                    plusAncienne.remove();
+                }
+            }
+        }
+
+        if (nouvelle) {
+            compilation.run();
+        }
+
+        Class<?> classe = null;
+        try {
+            classe = compilation.get();
+            return classe;
+        } finally {
+            if (classe == null) {
+                synchronized (CLASSES) {
+                    CLASSES.remove(source, compilation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile le source donné en mémoire et charge la classe obtenue.
+     *
+     * @param source Source de la classe.
+     * @return La classe, ou null si la compilation a échoué.
+     */
+    private static Class<?> charge(String source) throws ClassNotFoundException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) {
+            System.err.println("Compilation impossible : la JVM ne fournit pas de compilateur Java (JRE seul ?).");
+            return null;
+        }
+
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        StandardJavaFileManager standard = javac.getStandardFileManager(null, null, null);
+        JavaFileManager fichiers = new ForwardingJavaFileManager<StandardJavaFileManager>(standard) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String nom, JavaFileObject.Kind nature,
+                                                       FileObject origine) {
+                return new SimpleJavaFileObject(URI.create("memoire:///" + nom + nature.extension), nature) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return code;
+                    }
+                };
+            }
+        };
+
+        JavaFileObject fichier = new SimpleJavaFileObject(URI.create("memoire:///" + NOM_CLASSE + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignorerErreurs) {
+                return source;
+            }
+        };
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-proc:none",
+                "-nowarn");
+        boolean reussie = javac.getTask(null, fichiers, diagnostics, options, null,
+                Collections.singletonList(fichier)).call();
+
+        if (!reussie) {
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                System.err.println("Compilation impossible : " + diagnostic.getMessage(null));
+            }
+
+            return null;
+        }
+
+        return new Chargeur(code.toByteArray()).loadClass(NOM_CLASSE);
+    }
+
+    /**
+     * Chargeur de la classe générée. Chaque compilation a le sien, afin que plusieurs programmes puissent être
+     * chargés sous le même nom.
+     */
+    private static final class Chargeur extends ClassLoader {
+        /**
+         * Code de la classe générée.
+         */
+        private byte[] code;
+
+        /**
+         * Initialise un chargeur pour le code donné.
+         *
+         * @param code Code de la classe générée.
+         */
+        private Chargeur(byte[] code) {
+            super(Compilateur.class.getClassLoader());
+            this.code = code;
+        }
+
+        @Override
+        protected Class<?> findClass(String nom) throws ClassNotFoundException {
+            if (!nom.equals(NOM_CLASSE)) {
+                throw new ClassNotFoundException(nom);
+            }
+
+            return defineClass(nom, code, 0, code.length);
+        }
+    }
+
+    /**
+     * Génère le source de la classe : chargement des variables, instructions ligne par ligne, puis recopie des
+     * variables dans le Cadre, même si l'exécution est interrompue.
+     */
+    private void genere() {
+        ligne("public final class " + NOM_CLASSE + " implements Compilateur.Execution {");
+        indentation++;
+        ligne("@Override");
+        ligne("public void execute(Compilateur.Environnement env, Variable[] variables, Expression[] expressions,");
+        ligne("        Object[] constantes) {");
+        indentation++;
+
+        for (int i = 0; i < variables.size(); i++) {
+            Variable variable = variables.get(i);
+            if (!variable.estConstante()) {
+                ligne(typeJava(variable.getStockage()) + " " + variable(variable) + " = " + charge(i) + ";");
+            }
+        }
+
+        if (surveille) {
+            ligne("long etape = 0;");
+        }
+
+        ligne("try {");
+        indentation++;
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            instruction(i);
+        }
+        indentation--;
+        ligne("} finally {");
+        indentation++;
+        sauve();
+        indentation--;
+        ligne("}");
+
+        indentation--;
+        ligne("}");
+        indentation--;
+        ligne("}");
+    }
+
+    /**
+     * Génère le source de l'instruction de la ligne donnée.
+     *
+     * @param i Ligne de l'instruction.
+     */
+    private void instruction(int i) {
+        Instruction instruction = programme.getInstruction(i);
+        Instruction.Nature nature = instruction.getNature();
+        int correspondance = programme.getCorrespondance(i);
+
+        ligne("// " + (i + 1) + ": " + nature);
+        if (nature != Instruction.Nature.TANT_QUE && nature != Instruction.Nature.FTQ) {
+            etape();
+        }
+
+        switch (nature) {
+            case AFFECTATION:
+                affectation(instruction.getVariable(), instruction.getCompilee());
+                break;
+            case ECRIRE: {
+                String message = "m" + i;
+                String calcul = objet(instruction.getCompilee());
+                essaie("Object " + message + ";", message + " = " + calcul + ";", message + " = null;");
+                ligne("env.ecrire(" + message + ");");
+                break;
+            }
+            case LIRE: {
+                Variable variable = instruction.getVariable();
+                if (variable == null) {
+                    break;
+                }
+
+                sauve();
+                ligne("env.lire(variables[" + indices.get(variable) + "], " + i + ");");
+                if (!variable.estConstante()) {
+                    ligne(variable(variable) + " = " + charge(indices.get(variable)) + ";");
+                }
+                break;
+            }
+            case SI:
+                ligne("if (" + condition(i, instruction.getCompilee()) + ") {");
+                indentation++;
+                break;
+            case VIDE:
+                if (correspondance >= 0) {
+                    ligne("if (true) {");
+                    indentation++;
+                }
+                break;
+            case SAUT:
+                ligne("if (false) {");
+                indentation++;
+                break;
+            case SINON:
+                indentation--;
+                ligne("} else {");
+                indentation++;
+                break;
+            case FSI:
+                indentation--;
+                ligne("}");
+                break;
+            case TANT_QUE:
+                if (surveille) {
+                    ligne("long iterations" + i + " = 0;");
+                    ligne("long entree" + i + " = etape;");
+                    ligne("long instant" + i + " = " + (chronometre ? "System.nanoTime()" : "0") + ";");
+                }
+
+                ligne("while (true) {");
+                indentation++;
+                if (surveille) {
+                    ligne("etape++;");
+                }
+
+                String condition = condition(i, instruction.getCompilee());
+                ligne("if (!" + condition + ") {");
+                ligne("    break;");
+                ligne("}");
+                break;
+            case FTQ:
+                if (correspondance >= 0 && surveille
+                        && programme.getInstruction(correspondance).getNature() == Instruction.Nature.TANT_QUE) {
+                    ligne("iterations" + correspondance + "++;");
+                    ligne("env.verifie(" + correspondance + ", iterations" + correspondance + ", etape, entree"
+                            + correspondance + ", instant" + correspondance + ");");
+                    ligne("etape++;");
+                } else {
+                    etape();
+                }
+
+                indentation--;
+                ligne("}");
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Génère le comptage d'une étape, si les étapes sont comptées.
+     */
+    private void etape() {
+        if (surveille) {
+            ligne("etape++;");
+        }
+    }
+
+    /**
+     * Génère l'affectation d'une expression à une variable, convertie comme le fait Variable.affecte. Une
+     * affectation en erreur laisse la variable inchangée.
+     *
+     * @param variable   Variable affectée.
+     * @param expression Valeur affectée.
+     */
+    private void affectation(Variable variable, Expression expression) {
+        if (variable == null || variable.estConstante()) {
+            return;
+        }
+
+        String valeur;
+        switch (variable.getStockage()) {
+            case ENTIER:
+                valeur = affectationEntiere(expression);
+                break;
+            case REEL:
+                valeur = reel(expression);
+                break;
+            case BOOLEEN:
+                valeur = booleen(expression);
+                break;
+            case CARACTERE:
+                valeur = expression.getType() == Variable.Type.CARACTERE ? traduit(expression)
+                        : "Operations.enCaractere(" + objet(expression) + ")";
+                break;
+            case CHAINE:
+                valeur = chaine(expression);
+                break;
+            default:
+                valeur = objet(expression);
+                break;
+        }
+
+        essaie(null, variable(variable) + " = " + valeur + ";", null);
+    }
+
+    /**
+     * Retourne le source d'une expression affectée à une variable entière, comme Variable.affecte : un réel n'est
+     * accepté que s'il a une valeur entière.
+     *
+     * @param expression Expression affectée.
+     */
+    private String affectationEntiere(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+            case CARACTERE:
+                return entier(expression);
+            case REEL:
+                return "Operations.enEntier(" + traduit(expression) + ")";
+            default:
+                return "Operations.enEntier(" + objet(expression) + ")";
+        }
+    }
+
+    /**
+     * Génère l'évaluation d'une condition dans une variable locale, fausse si l'évaluation échoue, comme le fait
+     * Scripting.evalue.
+     *
+     * @param i         Ligne de la condition.
+     * @param condition Condition à évaluer.
+     * @return Le nom de la variable locale contenant le résultat.
+     */
+    private String condition(int i, Expression condition) {
+        String resultat = "c" + i;
+        String calcul = booleen(condition);
+        essaie("boolean " + resultat + ";", resultat + " = " + calcul + ";", resultat + " = false;");
+        return resultat;
+    }
+
+    /**
+     * Génère une instruction dont les erreurs sont affichées puis ignorées, comme le fait l'interpréteur. Si
+     * l'expression traduite juste avant fait évaluer l'un de ses noeuds, les variables sont d'abord recopiées
+     * dans le Cadre.
+     *
+     * @param declaration Déclaration précédant le bloc, ou null.
+     * @param instruction Instruction à protéger.
+     * @param secours     Instruction exécutée en cas d'erreur, ou null.
+     */
+    private void essaie(String declaration, String instruction, String secours) {
+        if (delegation) {
+            sauve();
+            delegation = false;
+        }
+
+        if (declaration != null) {
+            ligne(declaration);
+        }
+
+        ligne("try {");
+        ligne("    " + instruction);
+        ligne("} catch (Exception e) {");
+        ligne("    e.printStackTrace();");
+        if (secours != null) {
+            ligne("    " + secours);
+        }
+        ligne("}");
+    }
+
+    /**
+     * Génère la recopie de chaque variable locale dans le Cadre.
+     */
+    private void sauve() {
+        for (int i = 0; i < variables.size(); i++) {
+            if (!variables.get(i).estConstante()) {
+                ligne("variables[" + i + "].setValeur(" + variable(variables.get(i)) + ");");
+            }
+        }
+    }
+
+    /**
+     * Ajoute une ligne au source, à l'indentation courante.
+     *
+     * @param texte Texte de la ligne.
+     */
+    private void ligne(String texte) {
+        for (int i = 0; i < indentation; i++) {
+            source.append("    ");
+        }
+
+        source.append(texte).append('\n');
+    }
+
+    /**
+     * Retourne le source lisant la valeur d'une variable dans son Cadre.
+     *
+     * @param i Indice de la variable.
+     */
+    private String charge(int i) {
+        String contenu = "variables[" + i + "].getContenu()";
+        switch (variables.get(i).getStockage()) {
+            case ENTIER:
+                return "(Long) " + contenu;
+            case REEL:
+                return "(Double) " + contenu;
+            case BOOLEEN:
+                return "(Boolean) " + contenu;
+            case CARACTERE:
+                return "(Character) " + contenu;
+            case CHAINE:
+                return "(String) " + contenu;
+            default:
+                return contenu;
+        }
+    }
+
+    /**
+     * Retourne le type Java d'une valeur du type donné.
+     *
+     * @param type Type de la valeur.
+     */
+    private static String typeJava(Variable.Type type) {
+        switch (type) {
+            case ENTIER:
+                return "long";
+            case REEL:
+                return "double";
+            case BOOLEEN:
+                return "boolean";
+            case CARACTERE:
+                return "char";
+            case CHAINE:
+                return "String";
+            default:
+                return "Object";
+        }
+    }
+
+    /**
+     * Retourne le nom de la variable locale contenant la valeur d'une variable.
+     *
+     * @param variable Variable du programme.
+     */
+    String variable(Variable variable) {
+        return "v" + indices.get(variable);
+    }
+
+    /**
+     * Retourne le source d'une expression, dans le type Java correspondant à son type.
+     *
+     * @param expression Expression à traduire.
+     */
+    String traduit(Expression expression) {
+        return expression.traduit(this);
+    }
+
+    /**
+     * Retourne le source d'une expression évaluée en tant qu'entier, comme evalueEntier.
+     *
+     * @param expression Expression à traduire.
+     */
+    String entier(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+                return traduit(expression);
+            case REEL:
+            case CARACTERE:
+                return "((long) " + traduit(expression) + ")";
+            default:
+                return "Operations.enLong(" + objet(expression) + ")";
+        }
+    }
+
+    /**
+     * Retourne le source d'une expression évaluée en tant que réel, comme evalueReel.
+     *
+     * @param expression Expression à traduire.
+     */
+    String reel(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+            case REEL:
+            case CARACTERE:
+                return "((double) " + traduit(expression) + ")";
+            default:
+                return "Operations.enDouble(" + objet(expression) + ")";
+        }
+    }
+
+    /**
+     * Retourne le source d'une expression évaluée en tant que condition, comme evalueBooleen.
+     *
+     * @param expression Expression à traduire.
+     */
+    String booleen(Expression expression) {
+        if (expression.getType() == Variable.Type.BOOLEEN) {
+            return traduit(expression);
+        }
+
+        return "((Boolean) (Object) " + objet(expression) + ")";
+    }
+
+    /**
+     * Retourne le source d'une expression convertie en chaîne, comme le fait String.valueOf sur sa valeur.
+     *
+     * @param expression Expression à traduire.
+     */
+    String chaine(Expression expression) {
+        if (expression.getType() == Variable.Type.CHAINE) {
+            return traduit(expression);
+        }
+
+        return "String.valueOf(" + traduit(expression) + ")";
+    }
+
+    /**
+     * Retourne le source d'une expression évaluée en tant qu'objet, comme evalue.
+     *
+     * @param expression Expression à traduire.
+     */
+    String objet(Expression expression) {
+        return expression.traduitObjet(this);
+    }
+
+    /**
+     * Retourne le source convertissant en objet une valeur du type Java correspondant au type donné.
+     *
+     * @param source Source de la valeur.
+     * @param type   Type de la valeur.
+     */
+    String boite(String source, Variable.Type type) {
+        switch (type) {
+            case ENTIER:
+                return "Long.valueOf(" + source + ")";
+            case REEL:
+                return "Double.valueOf(" + source + ")";
+            case BOOLEEN:
+                return "Boolean.valueOf(" + source + ")";
+            case CARACTERE:
+                return "Character.valueOf(" + source + ")";
+            default:
+                return source;
+        }
+    }
+
+    /**
+     * Retourne le source d'une expression que la traduction ne sait pas écrire : elle sera évaluée par son noeud,
+     * dans le type Java correspondant à son type.
+     *
+     * @param expression Expression à évaluer.
+     */
+    String delegue(Expression expression) {
+        String noeud = "expressions[" + expressions.size() + "]";
+        expressions.add(expression);
+        delegation = true;
+
+        switch (expression.getType()) {
+            case ENTIER:
+                return noeud + ".evalueEntier()";
+            case REEL:
+                return noeud + ".evalueReel()";
+            case BOOLEEN:
+                return noeud + ".evalueBooleen()";
+            case CARACTERE:
+                return "((char) " + noeud + ".evalueEntier())";
+            case CHAINE:
+                return "((String) " + noeud + ".evalue())";
+            default:
+                return noeud + ".evalue()";
+        }
+    }
+
+    /**
+     * Retourne le source d'une valeur constante sous forme d'objet, telle quelle (un Integer reste un Integer).
+     *
+     * @param valeur Valeur constante.
+     */
+    String constante(Object valeur) {
+        constantes.add(valeur);
+        return "constantes[" + (constantes.size() - 1) + "]";
+    }
+
+    /**
+     * Retourne le source d'une valeur constante, dans le type Java correspondant au type donné.
+     *
+     * @param valeur Valeur constante.
+     * @param type   Type de la valeur.
+     */
+    String litteral(Object valeur, Variable.Type type) {
+        switch (type) {
+            case ENTIER:
+                return "(" + Operations.enLong(valeur) + "L)";
+            case REEL: {
+                double reel = Operations.enDouble(valeur);
+                if (Double.isNaN(reel)) {
+                    return "Double.NaN";
+                } else if (Double.isInfinite(reel)) {
+                    return reel > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+                }
+
+                return "(" + reel + ")";
+            }
+            case BOOLEEN:
+                return valeur.toString();
+            case CARACTERE:
+                return "((char) " + (int) (Character) valeur + ")";
+            case CHAINE: {
+                StringBuilder texte = new StringBuilder("\"");
+                for (char c : ((String) valeur).toCharArray()) {
+                    if (c == '"' || c == '\\') {
+                        texte.append('\\').append(c);
+                    } else if (c < ' ') {
+                        texte.append(String.format("\\%03o", (int) c));
+                    } else if (c > '~') {
+                        texte.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        texte.append(c);
+                    }
+                }
+
+                return texte.append('"').toString();
+            }
+            default:
+                return constante(valeur);
+        }
+    }
+}
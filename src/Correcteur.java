@@ -0,0 +1,355 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Correcteur par lots. Exécute chaque algorithme d'un dossier avec chacun des fichiers d'entrées d'un autre dossier,
+ * et compare les messages écrits par ecrire() à la sortie attendue, si elle est fournie.
+ * <p>
+ * Chaque couple (algorithme, entrées) est un travail indépendant, avec son propre Interpreteur, exécuté sur une
+ * réserve de threads à vol de tâches. Les résultats sont écrits dans le rapport au fur et à mesure qu'ils
+ * arrivent, suivis d'un résumé.
+ * <p>
+ * Pour un fichier d'entrées 'cas.txt', la sortie attendue est lue dans le fichier 'cas.attendu' du même dossier.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-12
+ */
+public final class Correcteur {
+    /**
+     * Statut d'un travail.
+     */
+    public enum Statut {
+        CORRECT,
+        INCORRECT,
+        SANS_REFERENCE,
+        ERREUR,
+        DEPASSEMENT
+    }
+
+    /**
+     * Durée maximale par défaut de l'exécution d'un travail, en millisecondes.
+     */
+    public static final long DUREE_DEFAUT = 10_000;
+
+    /**
+     * Résultat de l'exécution d'un algorithme avec un fichier d'entrées.
+     */
+    public static final class Resultat {
+        /**
+         * Algorithme exécuté.
+         */
+        private File algorithme;
+
+        /**
+         * Fichier d'entrées utilisé, ou null si l'algorithme a été exécuté sans entrées.
+         */
+        private File entrees;
+
+        /**
+         * Statut du travail.
+         */
+        private Statut statut;
+
+        /**
+         * Durée d'exécution, en nanosecondes.
+         */
+        private long duree;
+
+        /**
+         * Messages écrits par ecrire().
+         */
+        private String sortie;
+
+        /**
+         * Initialise un résultat.
+         *
+         * @param algorithme Algorithme exécuté.
+         * @param entrees    Fichier d'entrées utilisé.
+         * @param statut     Statut du travail.
+         * @param duree      Durée d'exécution, en nanosecondes.
+         * @param sortie     Messages écrits par ecrire().
+         */
+        public Resultat(File algorithme, File entrees, Statut statut, long duree, String sortie) {
+            this.algorithme = algorithme;
+            this.entrees = entrees;
+            this.statut = statut;
+            this.duree = duree;
+            this.sortie = sortie;
+        }
+
+        /**
+         * Retourne l'algorithme exécuté.
+         */
+        public File getAlgorithme() {
+            return this.algorithme;
+        }
+
+        /**
+         * Retourne le fichier d'entrées utilisé, ou null.
+         */
+        public File getEntrees() {
+            return this.entrees;
+        }
+
+        /**
+         * Retourne le statut du travail.
+         */
+        public Statut getStatut() {
+            return this.statut;
+        }
+
+        /**
+         * Retourne la durée d'exécution, en nanosecondes.
+         */
+        public long getDuree() {
+            return this.duree;
+        }
+
+        /**
+         * Retourne les messages écrits par ecrire().
+         */
+        public String getSortie() {
+            return this.sortie;
+        }
+    }
+
+    /**
+     * Algorithmes à exécuter.
+     */
+    private File[] algorithmes;
+
+    /**
+     * Fichiers d'entrées, ou un tableau contenant uniquement null si les algorithmes sont exécutés sans entrées.
+     */
+    private File[] entrees;
+
+    /**
+     * Nombre de travaux exécutés simultanément.
+     */
+    private int parallelisme;
+
+    /**
+     * Limites de l'exécution de chaque travail.
+     */
+    private Budget budget;
+
+    /**
+     * Indique si les algorithmes sont compilés plutôt qu'interprêtés.
+     */
+    private boolean compile;
+
+    /**
+     * Initialise un correcteur, dont chaque travail est limité à DUREE_DEFAUT.
+     *
+     * @param dossierAlgorithmes Dossier contenant les algorithmes (fichiers .txt).
+     * @param dossierEntrees     Dossier contenant les fichiers d'entrées (fichiers .txt), ou null.
+     * @param parallelisme       Nombre de travaux exécutés simultanément.
+     */
+    public Correcteur(File dossierAlgorithmes, File dossierEntrees, int parallelisme) {
+        this(dossierAlgorithmes, dossierEntrees, parallelisme, new Budget(0, DUREE_DEFAUT, 0, 0));
+    }
+
+    /**
+     * Initialise un correcteur.
+     *
+     * @param dossierAlgorithmes Dossier contenant les algorithmes (fichiers .txt).
+     * @param dossierEntrees     Dossier contenant les fichiers d'entrées (fichiers .txt), ou null.
+     * @param parallelisme       Nombre de travaux exécutés simultanément.
+     * @param budget             Limites de l'exécution de chaque travail.
+     */
+    public Correcteur(File dossierAlgorithmes, File dossierEntrees, int parallelisme, Budget budget) {
+        this.algorithmes = listeTextes(dossierAlgorithmes);
+        this.entrees = dossierEntrees == null ? new File[]{null} : listeTextes(dossierEntrees);
+        this.parallelisme = Math.max(1, parallelisme);
+        this.budget = budget;
+    }
+
+    /**
+     * Fait compiler les algorithmes en classes Java plutôt que les interprêter (voir Compilateur). Chaque
+     * algorithme n'est compilé qu'une fois, quel que soit le nombre de ses fichiers d'entrées.
+     *
+     * @param compile Indique si les algorithmes sont compilés.
+     */
+    public void configurerCompilation(boolean compile) {
+        this.compile = compile;
+    }
+
+    /**
+     * Retourne les fichiers .txt du dossier donné, triés par nom.
+     *
+     * @param dossier Dossier à parcourir.
+     */
+    private static File[] listeTextes(File dossier) {
+        File[] fichiers = dossier.listFiles((d, nom) -> nom.endsWith(".txt"));
+        if (fichiers == null) {
+            return new File[0];
+        }
+
+        Arrays.sort(fichiers);
+        return fichiers;
+    }
+
+    /**
+     * Exécute tous les travaux et écrit le rapport au fur et à mesure.
+     *
+     * @param rapport Flux recevant le rapport.
+     * @return Vrai si aucun travail n'est incorrect, en erreur ou hors budget.
+     */
+    public boolean corriger(PrintStream rapport) {
+        ForkJoinPool reserve = new ForkJoinPool(parallelisme);
+        CompletionService<Resultat> travaux = new ExecutorCompletionService<>(reserve);
+
+        long debut = System.nanoTime();
+        int nombre = 0;
+        for (File algorithme : algorithmes) {
+            for (File entree : entrees) {
+                travaux.submit(() -> execute(algorithme, entree, budget, compile));
+                nombre++;
+            }
+        }
+
+        int[] parStatut = new int[Statut.values().length];
+        long dureeCumulee = 0;
+
+        try {
+            for (int i = 0; i < nombre; i++) {
+                Resultat resultat = travaux.take().get();
+                parStatut[resultat.getStatut().ordinal()]++;
+                dureeCumulee += resultat.getDuree();
+
+                rapport.println(String.format("%-14s %-30s %-20s %8.1f ms", resultat.getStatut(),
+                        resultat.getAlgorithme().getName(),
+                        resultat.getEntrees() == null ? "-" : resultat.getEntrees().getName(),
+                        resultat.getDuree() / 1e6));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            reserve.shutdown();
+        }
+
+        long duree = System.nanoTime() - debut;
+
+        rapport.println();
+        rapport.println(String.format("%d travaux sur %d threads : %d corrects, %d incorrects, %d sans référence, %d en erreur, %d hors budget",
+                nombre, parallelisme, parStatut[Statut.CORRECT.ordinal()], parStatut[Statut.INCORRECT.ordinal()],
+                parStatut[Statut.SANS_REFERENCE.ordinal()], parStatut[Statut.ERREUR.ordinal()],
+                parStatut[Statut.DEPASSEMENT.ordinal()]));
+        rapport.println(String.format("Durée totale : %.1f ms, durée cumulée des travaux : %.1f ms",
+                duree / 1e6, dureeCumulee / 1e6));
+        rapport.flush();
+
+        return parStatut[Statut.INCORRECT.ordinal()] == 0 && parStatut[Statut.ERREUR.ordinal()] == 0
+                && parStatut[Statut.DEPASSEMENT.ordinal()] == 0;
+    }
+
+    /**
+     * Exécute un algorithme avec un fichier d'entrées et compare sa sortie à la sortie attendue.
+     *
+     * @param algorithme Algorithme à exécuter.
+     * @param entree     Fichier d'entrées, ou null.
+     * @param budget     Limites de l'exécution.
+     * @param compile    Indique si l'algorithme est compilé plutôt qu'interprêté.
+     * @return Le résultat du travail.
+     */
+    private static Resultat execute(File algorithme, File entree, Budget budget, boolean compile) {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        long debut = System.nanoTime();
+        boolean execute;
+        boolean depasse = false;
+
+        try (InputStream flux = entree == null ? new ByteArrayInputStream(new byte[0]) : new FileInputStream(entree)) {
+            Interpreteur interpreteur = new Interpreteur(algorithme.getPath(), flux, sortie);
+            interpreteur.configurerBudget(budget);
+            execute = interpreteur.executer(compile);
+            depasse = interpreteur.getDepassement() != null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            execute = false;
+        }
+
+        long duree = System.nanoTime() - debut;
+        String texte = normalise(new String(sortie.toByteArray(), StandardCharsets.UTF_8));
+
+        if (depasse) {
+            return new Resultat(algorithme, entree, Statut.DEPASSEMENT, duree, texte);
+        } else if (!execute) {
+            return new Resultat(algorithme, entree, Statut.ERREUR, duree, texte);
+        }
+
+        File attendu = entree == null ? null
+                : new File(entree.getParentFile(), entree.getName().replaceAll("\\.txt$", ".attendu"));
+        if (attendu == null || !attendu.isFile()) {
+            return new Resultat(algorithme, entree, Statut.SANS_REFERENCE, duree, texte);
+        }
+
+        try {
+            String reference = normalise(new String(Files.readAllBytes(attendu.toPath()), StandardCharsets.UTF_8));
+            return new Resultat(algorithme, entree, texte.equals(reference) ? Statut.CORRECT : Statut.INCORRECT,
+                    duree, texte);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Resultat(algorithme, entree, Statut.ERREUR, duree, texte);
+        }
+    }
+
+    /**
+     * Uniformise les fins de ligne d'un texte et retire les lignes vides finales.
+     *
+     * @param texte Texte à uniformiser.
+     */
+    private static String normalise(String texte) {
+        return texte.replace("\r\n", "\n").replaceAll("\\s+$", "");
+    }
+
+    /**
+     * Point d'entrée du correcteur.
+     * <p>
+     * Utilisation : {@code Correcteur [-p threads] [-c] [-n etapes] [-w ms] [-nb etapes] [-wb ms] algorithmes/
+     * [entrees/]}. Par défaut, un thread est utilisé par cœur disponible, et chaque travail est limité à
+     * DUREE_DEFAUT ; les options -n, -w, -nb et -wb fixent un autre Budget. L'option -c compile les algorithmes.
+     *
+     * @param args Options et dossiers.
+     */
+    public static void main(String[] args) {
+        int parallelisme = Runtime.getRuntime().availableProcessors();
+        File dossierAlgorithmes = null;
+        File dossierEntrees = null;
+        Budget budget = new Budget(0, DUREE_DEFAUT, 0, 0);
+        boolean compile = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-p")) {
+                parallelisme = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-c")) {
+                compile = true;
+            } else if (i + 1 < args.length && budget.option(args[i], args[i + 1])) {
+                i++;
+            } else if (dossierAlgorithmes == null) {
+                dossierAlgorithmes = new File(args[i]);
+            } else {
+                dossierEntrees = new File(args[i]);
+            }
+        }
+
+        if (dossierAlgorithmes == null) {
+            System.err.println("Utilisation : Correcteur [-p threads] [-c] [-n etapes] [-w ms] [-nb etapes] [-wb ms] algorithmes/ [entrees/]");
+            System.exit(2);
+        }
+
+        Correcteur correcteur = new Correcteur(dossierAlgorithmes, dossierEntrees, parallelisme, budget);
+        correcteur.configurerCompilation(compile);
+        boolean reussi = correcteur.corriger(System.out);
+        System.exit(reussi ? 0 : 1);
+    }
+}
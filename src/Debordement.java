@@ -0,0 +1,131 @@
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Débordement sur disque d'une trace. Les entrées les plus anciennes, chassées de la mémoire, sont ajoutées à la
+ * fin d'un fichier temporaire ; seule la position de chacune d'elles est conservée en mémoire, ce qui permet de
+ * les relire une à une sans garder tout l'historique sur le tas.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class Debordement {
+    /**
+     * Fichier temporaire contenant les entrées.
+     */
+    private File fichier;
+
+    /**
+     * Accès au fichier temporaire.
+     */
+    private RandomAccessFile acces;
+
+    /**
+     * Position, dans le fichier, du début de chaque entrée.
+     */
+    private long[] positions;
+
+    /**
+     * Nombre d'entrées écrites dans le fichier.
+     */
+    private int nombre;
+
+    /**
+     * Position de la fin de la dernière entrée.
+     */
+    private long fin;
+
+    /**
+     * Crée le fichier temporaire de débordement. Il est supprimé par ferme, que son propriétaire doit appeler : il
+     * n'est pas enregistré pour être supprimé à l'arrêt de la JVM, ce qui conserverait son chemin en mémoire
+     * jusque-là dans un serveur.
+     *
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public Debordement() throws IOException {
+        this.fichier = File.createTempFile("trace", ".bin");
+        this.acces = new RandomAccessFile(fichier, "rw");
+        this.positions = new long[64];
+        this.nombre = 0;
+        this.fin = 0;
+    }
+
+    /**
+     * Retourne le nombre d'entrées écrites dans le fichier.
+     */
+    public int getNombre() {
+        return this.nombre;
+    }
+
+    /**
+     * Ajoute une entrée à la fin du fichier.
+     *
+     * @param octets   Contenu encodé de l'entrée.
+     * @param longueur Nombre d'octets à écrire.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public void ajoute(byte[] octets, int longueur) throws IOException {
+        if (nombre == positions.length) {
+            positions = Arrays.copyOf(positions, nombre * 2);
+        }
+
+        acces.seek(fin);
+        acces.write(octets, 0, longueur);
+
+        positions[nombre++] = fin;
+        fin += longueur;
+    }
+
+    /**
+     * Relit l'entrée d'index donné.
+     *
+     * @param i Index de l'entrée.
+     * @return Un flux sur le contenu encodé de l'entrée.
+     * @throws IOException Si la lecture échoue.
+     */
+    public DataInputStream lis(int i) throws IOException {
+        long debut = positions[i];
+        long suivante = i + 1 < nombre ? positions[i + 1] : fin;
+        byte[] octets = new byte[(int) (suivante - debut)];
+
+        acces.seek(debut);
+        acces.readFully(octets);
+
+        return new DataInputStream(new ByteArrayInputStream(octets));
+    }
+
+    /**
+     * Ne conserve que les premières entrées du fichier.
+     *
+     * @param taille Nombre d'entrées conservées.
+     * @throws IOException Si le fichier ne peut pas être tronqué.
+     */
+    public void tronque(int taille) throws IOException {
+        if (taille >= nombre) {
+            return;
+        }
+
+        nombre = Math.max(0, taille);
+        fin = positions[nombre];
+        acces.setLength(fin);
+    }
+
+    /**
+     * Ferme et supprime le fichier temporaire.
+     */
+    public void ferme() {
+        try {
+            acces.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        if (!fichier.delete() && fichier.exists()) {
+            System.err.println("Impossible de supprimer le fichier temporaire " + fichier + ".");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Exception levée lorsqu'une exécution sans surveillance dépasse l'une des limites de son Budget. Elle interrompt
+ * l'exécution au retour de la boucle fautive, en laissant l'état de l'interpréteur cohérent.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-19
+ */
+public final class DepassementBudget extends RuntimeException {
+    /**
+     * Version de la forme sérialisée.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Ligne du 'tant que' de la boucle interrompue.
+     */
+    private final int ligne;
+
+    /**
+     * Nombre d'itérations de la boucle depuis son entrée.
+     */
+    private final long iterations;
+
+    /**
+     * Nombre d'étapes du programme au moment de l'interruption.
+     */
+    private final long etapes;
+
+    /**
+     * Initialise l'exception.
+     *
+     * @param limite     Description de la limite dépassée.
+     * @param ligne      Ligne du 'tant que' de la boucle interrompue.
+     * @param iterations Nombre d'itérations de la boucle depuis son entrée.
+     * @param etapes     Nombre d'étapes du programme.
+     */
+    public DepassementBudget(String limite, int ligne, long iterations, long etapes) {
+        super("Budget dépassé (" + limite + ") : boucle de la ligne " + (ligne + 1) + ", " + iterations
+                + " itérations, " + etapes + " étapes.");
+        this.ligne = ligne;
+        this.iterations = iterations;
+        this.etapes = etapes;
+    }
+
+    /**
+     * Retourne la ligne du 'tant que' de la boucle interrompue.
+     */
+    public int getLigne() {
+        return this.ligne;
+    }
+
+    /**
+     * Retourne le nombre d'itérations de la boucle depuis son entrée.
+     */
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Retourne le nombre d'étapes du programme au moment de l'interruption.
+     */
+    public long getEtapes() {
+        return this.etapes;
+    }
+}
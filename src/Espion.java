@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Expression espionnée, affichée dans le panneau des variables. L'expression est compilée une seule fois, lorsqu'elle
+ * est ajoutée, mais n'est évaluée qu'au moment où sa valeur est demandée (à l'affichage). Le résultat est conservé
+ * tant que les variables dont elle dépend gardent la même valeur.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class Espion {
+    /**
+     * Texte affiché lorsque l'évaluation de l'expression échoue.
+     */
+    private static final String ERREUR = "erreur";
+
+    /**
+     * Texte de l'expression, tel que saisi.
+     */
+    private String texte;
+
+    /**
+     * Expression compilée.
+     */
+    private Expression expression;
+
+    /**
+     * Variables lues par l'expression.
+     */
+    private Variable[] dependances;
+
+    /**
+     * Valeur des dépendances lors de la dernière évaluation.
+     */
+    private Object[] valeursDependances;
+
+    /**
+     * Résultat de la dernière évaluation, ou null si l'expression n'a pas encore été évaluée.
+     */
+    private String resultat;
+
+    /**
+     * Nombre d'évaluations effectives de l'expression.
+     */
+    private int evaluations;
+
+    /**
+     * Initialise un espion et détermine les variables dont dépend l'expression.
+     *
+     * @param texte     Texte de l'expression, en pseudo-code.
+     * @param scripting Contexte de compilation de l'expression.
+     * @param variables Table des symboles du programme.
+     */
+    public Espion(String texte, Scripting scripting, TableSymboles variables) {
+        this.texte = texte;
+        this.expression = scripting.compile(Analyseur.expression(texte));
+
+        List<Variable> lues = new ArrayList<>();
+        for (Jeton jeton : Lexeur.decoupe(texte)) {
+            if (jeton.getType() != Jeton.Type.IDENTIFIANT) {
+                continue;
+            }
+
+            Variable variable = variables.cherche(jeton.getTexte());
+            if (variable != null && !variable.estConstante() && !lues.contains(variable)) {
+                lues.add(variable);
+            }
+        }
+
+        this.dependances = lues.toArray(new Variable[0]);
+        this.valeursDependances = new Object[dependances.length];
+        this.resultat = null;
+        this.evaluations = 0;
+    }
+
+    /**
+     * Retourne la valeur de l'expression, sous forme de texte. L'expression n'est réévaluée que si l'une de ses
+     * dépendances a changé depuis la dernière évaluation.
+     */
+    public String getValeur() {
+        if (resultat != null && !dependancesModifiees()) {
+            return resultat;
+        }
+
+        for (int i = 0; i < dependances.length; i++) {
+            valeursDependances[i] = dependances[i].getContenu();
+        }
+
+        evaluations++;
+        try {
+            resultat = String.valueOf(expression.evalue());
+        } catch (Exception e) {
+            resultat = ERREUR;
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Indique si l'une des dépendances a changé de valeur depuis la dernière évaluation.
+     */
+    private boolean dependancesModifiees() {
+        for (int i = 0; i < dependances.length; i++) {
+            if (!Objects.equals(valeursDependances[i], dependances[i].getContenu())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Retourne le texte de l'expression.
+     */
+    public String getTexte() {
+        return this.texte;
+    }
+
+    /**
+     * Retourne le nombre d'évaluations effectives de l'expression.
+     */
+    public int getEvaluations() {
+        return this.evaluations;
+    }
+}
@@ -0,0 +1,1061 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expression compilée du pseudo-code. Une expression est analysée une seule fois sous la forme d'un arbre dont
+ * chaque noeud sait s'évaluer, en lisant directement les variables auxquelles il fait référence.
+ * <p>
+ * Chaque noeud connaît, quand c'est possible, le type de sa valeur. Les méthodes evalueEntier, evalueReel et
+ * evalueBooleen permettent alors d'évaluer l'expression sans passer par des objets intermédiaires.
+ * <p>
+ * Au chargement, l'Optimiseur simplifie les arbres (constantes remplacées par leur valeur, sous-expressions
+ * constantes calculées) et extrait des boucles les sous-expressions qui n'y changent pas de valeur.
+ * <p>
+ * Pour l'exécution compilée, chaque noeud sait aussi s'écrire en source Java (voir Compilateur) ; un noeud qui ne
+ * le sait pas y est évalué tel quel.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-22
+ */
+public abstract class Expression {
+    /**
+     * Les opérateurs binaires reconnus.
+     */
+    public enum Operateur {
+        OU, ET, EGAL, DIFFERENT, INFERIEUR, INFERIEUR_EGAL, SUPERIEUR, SUPERIEUR_EGAL,
+        PLUS, MOINS, FOIS, DIVISE, MODULO;
+
+        /**
+         * Indique si l'opérateur produit un booléen.
+         */
+        public boolean estBooleen() {
+            return ordinal() <= SUPERIEUR_EGAL.ordinal();
+        }
+    }
+
+    /**
+     * Évalue l'expression et retourne sa valeur.
+     */
+    public abstract Object evalue();
+
+    /**
+     * Évalue l'expression en tant que condition.
+     */
+    public boolean evalueBooleen() {
+        return (boolean) evalue();
+    }
+
+    /**
+     * Évalue l'expression en tant qu'entier.
+     */
+    public long evalueEntier() {
+        return Operations.enLong(evalue());
+    }
+
+    /**
+     * Évalue l'expression en tant que réel.
+     */
+    public double evalueReel() {
+        return Operations.enDouble(evalue());
+    }
+
+    /**
+     * Retourne le type de la valeur de l'expression, ou AUTRE s'il n'est pas connu à la compilation.
+     */
+    public Variable.Type getType() {
+        return Variable.Type.AUTRE;
+    }
+
+    /**
+     * Retourne une version simplifiée de l'expression : les constantes déclarées sont remplacées par leur valeur et
+     * les sous-expressions ne dépendant d'aucune variable sont calculées une fois pour toutes.
+     */
+    public Expression simplifie() {
+        return this;
+    }
+
+    /**
+     * Indique si la valeur de l'expression ne dépend que de variables absentes de l'ensemble donné, et peut donc
+     * être conservée tant qu'aucune de ces variables n'est modifiée.
+     *
+     * @param modifiees Variables susceptibles d'être modifiées.
+     */
+    public boolean estInvariante(Set<Variable> modifiees) {
+        return false;
+    }
+
+    /**
+     * Remplace les plus grandes sous-expressions invariantes par des Invariant, dont la valeur est conservée
+     * jusqu'à leur invalidation.
+     *
+     * @param modifiees  Variables modifiées dans la boucle.
+     * @param invariants Liste recevant les Invariant créés.
+     * @return L'expression, dont les sous-expressions invariantes ont été remplacées.
+     */
+    public Expression extraitInvariants(Set<Variable> modifiees, List<Invariant> invariants) {
+        return this;
+    }
+
+    /**
+     * Retourne le source Java calculant la valeur de l'expression, dans le type Java correspondant à son type
+     * (long pour ENTIER, double pour REEL, boolean, char, String, Object pour AUTRE). Par défaut, l'expression est
+     * évaluée par son noeud.
+     *
+     * @param compilateur Compilateur du programme.
+     */
+    public String traduit(Compilateur compilateur) {
+        return compilateur.delegue(this);
+    }
+
+    /**
+     * Retourne le source Java calculant la même valeur que evalue.
+     *
+     * @param compilateur Compilateur du programme.
+     */
+    public String traduitObjet(Compilateur compilateur) {
+        return compilateur.boite(traduit(compilateur), getType());
+    }
+
+    /**
+     * Calcule l'expression donnée, dont les opérandes sont constantes, et retourne sa valeur sous forme de
+     * constante. Si le calcul échoue (division par zéro par exemple), l'expression est conservée afin que
+     * l'erreur se produise à l'exécution, comme sans simplification.
+     *
+     * @param expression Expression à calculer.
+     */
+    protected static Expression calcule(Expression expression) {
+        try {
+            return new Constante(expression.evalue());
+        } catch (RuntimeException e) {
+            return expression;
+        }
+    }
+
+    /**
+     * Indique si le type donné est numérique (un caractère étant considéré comme un entier).
+     *
+     * @param type Type à examiner.
+     */
+    protected static boolean estNumerique(Variable.Type type) {
+        return type == Variable.Type.ENTIER || type == Variable.Type.REEL || type == Variable.Type.CARACTERE;
+    }
+
+    /**
+     * Valeur littérale ou constante.
+     */
+    public static final class Constante extends Expression {
+        /**
+         * Valeur de la constante.
+         */
+        private Object valeur;
+
+        /**
+         * Initialise une constante.
+         *
+         * @param valeur Valeur de la constante.
+         */
+        public Constante(Object valeur) {
+            this.valeur = valeur;
+        }
+
+        @Override
+        public Object evalue() {
+            return valeur;
+        }
+
+        @Override
+        public Variable.Type getType() {
+            if (valeur instanceof Integer || valeur instanceof Long) {
+                return Variable.Type.ENTIER;
+            } else if (valeur instanceof Double) {
+                return Variable.Type.REEL;
+            } else if (valeur instanceof Boolean) {
+                return Variable.Type.BOOLEEN;
+            } else if (valeur instanceof Character) {
+                return Variable.Type.CARACTERE;
+            } else if (valeur instanceof String) {
+                return Variable.Type.CHAINE;
+            }
+
+            return Variable.Type.AUTRE;
+        }
+
+        @Override
+        public boolean estInvariante(Set<Variable> modifiees) {
+            return true;
+        }
+
+        @Override
+        public String traduit(Compilateur compilateur) {
+            return compilateur.litteral(valeur, getType());
+        }
+
+        @Override
+        public String traduitObjet(Compilateur compilateur) {
+            return compilateur.constante(valeur);
+        }
+    }
+
+    /**
+     * Référence vers une variable déclarée.
+     */
+    public static final class Reference extends Expression {
+        /**
+         * Variable référencée.
+         */
+        private Variable variable;
+
+        /**
+         * Cadre contenant la valeur de la variable.
+         */
+        private Cadre cadre;
+
+        /**
+         * Emplacement de la valeur de la variable dans le cadre.
+         */
+        private int emplacement;
+
+        /**
+         * Initialise une référence vers la variable donnée.
+         *
+         * @param variable Variable référencée.
+         */
+        public Reference(Variable variable) {
+            this.variable = variable;
+            this.cadre = variable.getCadre();
+            this.emplacement = variable.getEmplacement();
+        }
+
+        @Override
+        public Object evalue() {
+            return variable.getContenu();
+        }
+
+        @Override
+        public long evalueEntier() {
+            switch (variable.getStockage()) {
+                case ENTIER:
+                    return cadre.entiers[emplacement];
+                case CARACTERE:
+                    return cadre.caracteres[emplacement];
+                default:
+                    return super.evalueEntier();
+            }
+        }
+
+        @Override
+        public double evalueReel() {
+            switch (variable.getStockage()) {
+                case REEL:
+                    return cadre.reels[emplacement];
+                case ENTIER:
+                    return cadre.entiers[emplacement];
+                default:
+                    return super.evalueReel();
+            }
+        }
+
+        @Override
+        public boolean evalueBooleen() {
+            if (variable.getStockage() == Variable.Type.BOOLEEN) {
+                return cadre.booleens[emplacement];
+            }
+
+            return super.evalueBooleen();
+        }
+
+        @Override
+        public Variable.Type getType() {
+            return variable.getStockage();
+        }
+
+        @Override
+        public Expression simplifie() {
+            return variable.estConstante() ? new Constante(variable.getContenu()) : this;
+        }
+
+        @Override
+        public boolean estInvariante(Set<Variable> modifiees) {
+            return !modifiees.contains(variable);
+        }
+
+        @Override
+        public String traduit(Compilateur compilateur) {
+            if (variable.estConstante()) {
+                return new Constante(variable.getContenu()).traduit(compilateur);
+            }
+
+            return compilateur.variable(variable);
+        }
+
+        @Override
+        public String traduitObjet(Compilateur compilateur) {
+            if (variable.estConstante()) {
+                return new Constante(variable.getContenu()).traduitObjet(compilateur);
+            }
+
+            return super.traduitObjet(compilateur);
+        }
+    }
+
+    /**
+     * Opération unaire (négation arithmétique ou logique).
+     */
+    public static final class Unaire extends Expression {
+        /**
+         * Indique s'il s'agit d'une négation logique ('non') plutôt qu'arithmétique ('-').
+         */
+        private boolean logique;
+
+        /**
+         * Opérande.
+         */
+        private Expression operande;
+
+        /**
+         * Initialise une opération unaire.
+         *
+         * @param logique  Indique s'il s'agit d'une négation logique.
+         * @param operande Opérande.
+         */
+        public Unaire(boolean logique, Expression operande) {
+            this.logique = logique;
+            this.operande = operande;
+        }
+
+        @Override
+        public Object evalue() {
+            switch (getType()) {
+                case BOOLEEN:
+                    return evalueBooleen();
+                case ENTIER:
+                    return evalueEntier();
+                case REEL:
+                    return evalueReel();
+                default:
+                    return Operations.arithmetique(Operateur.MOINS, 0, operande.evalue());
+            }
+        }
+
+        @Override
+        public long evalueEntier() {
+            return -operande.evalueEntier();
+        }
+
+        @Override
+        public double evalueReel() {
+            return -operande.evalueReel();
+        }
+
+        @Override
+        public Variable.Type getType() {
+            if (logique) {
+                return Variable.Type.BOOLEEN;
+            }
+
+            Variable.Type type = operande.getType();
+            if (type == Variable.Type.CARACTERE) {
+                return Variable.Type.ENTIER;
+            }
+
+            return estNumerique(type) ? type : Variable.Type.AUTRE;
+        }
+
+        @Override
+        public boolean evalueBooleen() {
+            if (logique) {
+                return !operande.evalueBooleen();
+            }
+
+            return super.evalueBooleen();
+        }
+
+        @Override
+        public Expression simplifie() {
+            Unaire simplifiee = new Unaire(logique, operande.simplifie());
+            return simplifiee.operande instanceof Constante ? calcule(simplifiee) : simplifiee;
+        }
+
+        @Override
+        public boolean estInvariante(Set<Variable> modifiees) {
+            return operande.estInvariante(modifiees);
+        }
+
+        @Override
+        public Expression extraitInvariants(Set<Variable> modifiees, List<Invariant> invariants) {
+            if (estInvariante(modifiees)) {
+                Invariant invariant = new Invariant(this);
+                invariants.add(invariant);
+                return invariant;
+            }
+
+            return new Unaire(logique, operande.extraitInvariants(modifiees, invariants));
+        }
+
+        @Override
+        public String traduit(Compilateur compilateur) {
+            if (logique) {
+                return "(!" + compilateur.booleen(operande) + ")";
+            }
+
+            switch (getType()) {
+                case ENTIER:
+                    return "(-" + compilateur.entier(operande) + ")";
+                case REEL:
+                    return "(-" + compilateur.reel(operande) + ")";
+                default:
+                    return "Operations.arithmetique(Expression.Operateur.MOINS, 0, " + compilateur.objet(operande)
+                            + ")";
+            }
+        }
+    }
+
+    /**
+     * Opération binaire (arithmétique, comparaison ou logique).
+     */
+    public static final class Binaire extends Expression {
+        /**
+         * Opérateur appliqué.
+         */
+        private Operateur operateur;
+
+        /**
+         * Opérande de gauche.
+         */
+        private Expression gauche;
+
+        /**
+         * Opérande de droite.
+         */
+        private Expression droite;
+
+        /**
+         * Type de la valeur de l'opération, déterminé à la compilation.
+         */
+        private Variable.Type type;
+
+        /**
+         * Indique si les deux opérandes sont entiers, ce qui permet de les comparer sans conversion.
+         */
+        private boolean operandesEntiers;
+
+        /**
+         * Indique si les deux opérandes sont numériques.
+         */
+        private boolean operandesNumeriques;
+
+        /**
+         * Initialise une opération binaire.
+         *
+         * @param operateur Opérateur appliqué.
+         * @param gauche    Opérande de gauche.
+         * @param droite    Opérande de droite.
+         */
+        public Binaire(Operateur operateur, Expression gauche, Expression droite) {
+            this.operateur = operateur;
+            this.gauche = gauche;
+            this.droite = droite;
+
+            Variable.Type typeGauche = gauche.getType();
+            Variable.Type typeDroite = droite.getType();
+            this.operandesNumeriques = estNumerique(typeGauche) && estNumerique(typeDroite);
+            this.operandesEntiers = operandesNumeriques && typeGauche != Variable.Type.REEL && typeDroite != Variable.Type.REEL;
+
+            if (operateur.estBooleen()) {
+                this.type = Variable.Type.BOOLEEN;
+            } else if (operateur == Operateur.PLUS && (typeGauche == Variable.Type.CHAINE || typeDroite == Variable.Type.CHAINE)) {
+                this.type = Variable.Type.CHAINE;
+            } else if (operandesEntiers) {
+                this.type = Variable.Type.ENTIER;
+            } else if (operandesNumeriques) {
+                this.type = Variable.Type.REEL;
+            } else {
+                this.type = Variable.Type.AUTRE;
+            }
+        }
+
+        @Override
+        public Object evalue() {
+            switch (type) {
+                case BOOLEEN:
+                    return evalueBooleen();
+                case ENTIER:
+                    return evalueEntier();
+                case REEL:
+                    return evalueReel();
+                default:
+                    return Operations.arithmetique(operateur, gauche.evalue(), droite.evalue());
+            }
+        }
+
+        @Override
+        public long evalueEntier() {
+            if (type != Variable.Type.ENTIER) {
+                return super.evalueEntier();
+            }
+
+            long x = gauche.evalueEntier();
+            long y = droite.evalueEntier();
+
+            switch (operateur) {
+                case PLUS:
+                    return x + y;
+                case MOINS:
+                    return x - y;
+                case FOIS:
+                    return x * y;
+                case DIVISE:
+                    return x / y;
+                default:
+                    return x % y;
+            }
+        }
+
+        @Override
+        public double evalueReel() {
+            if (type != Variable.Type.REEL) {
+                return super.evalueReel();
+            }
+
+            double x = gauche.evalueReel();
+            double y = droite.evalueReel();
+
+            switch (operateur) {
+                case PLUS:
+                    return x + y;
+                case MOINS:
+                    return x - y;
+                case FOIS:
+                    return x * y;
+                case DIVISE:
+                    return x / y;
+                default:
+                    return x % y;
+            }
+        }
+
+        @Override
+        public Variable.Type getType() {
+            return type;
+        }
+
+        /**
+         * Compare les deux opérandes, sans conversion lorsque leur type est connu.
+         *
+         * @return Un nombre négatif, nul ou positif selon que l'opérande de gauche est inférieure, égale ou
+         * supérieure à celle de droite.
+         */
+        private int compare() {
+            if (operandesEntiers) {
+                return Long.compare(gauche.evalueEntier(), droite.evalueEntier());
+            } else if (operandesNumeriques) {
+                return Double.compare(gauche.evalueReel(), droite.evalueReel());
+            }
+
+            return Operations.compare(gauche.evalue(), droite.evalue());
+        }
+
+        @Override
+        public boolean evalueBooleen() {
+            switch (operateur) {
+                case ET:
+                    return gauche.evalueBooleen() && droite.evalueBooleen();
+                case OU:
+                    return gauche.evalueBooleen() || droite.evalueBooleen();
+                case EGAL:
+                    return operandesNumeriques ? compare() == 0 : Operations.egal(gauche.evalue(), droite.evalue());
+                case DIFFERENT:
+                    return operandesNumeriques ? compare() != 0 : !Operations.egal(gauche.evalue(), droite.evalue());
+                case INFERIEUR:
+                    return compare() < 0;
+                case INFERIEUR_EGAL:
+                    return compare() <= 0;
+                case SUPERIEUR:
+                    return compare() > 0;
+                case SUPERIEUR_EGAL:
+                    return compare() >= 0;
+                default:
+                    return (boolean) evalue();
+            }
+        }
+
+        @Override
+        public Expression simplifie() {
+            Expression g = gauche.simplifie();
+            Expression d = droite.simplifie();
+
+            if ((operateur == Operateur.ET || operateur == Operateur.OU) && g instanceof Constante
+                    && g.getType() == Variable.Type.BOOLEEN && d.getType() == Variable.Type.BOOLEEN) {
+                boolean valeur = g.evalueBooleen();
+                if (valeur == (operateur == Operateur.OU)) {
+                    return new Constante(valeur);
+                }
+
+                return d;
+            }
+
+            Binaire simplifiee = new Binaire(operateur, g, d);
+            return g instanceof Constante && d instanceof Constante ? calcule(simplifiee) : simplifiee;
+        }
+
+        @Override
+        public boolean estInvariante(Set<Variable> modifiees) {
+            return gauche.estInvariante(modifiees) && droite.estInvariante(modifiees);
+        }
+
+        @Override
+        public Expression extraitInvariants(Set<Variable> modifiees, List<Invariant> invariants) {
+            if (estInvariante(modifiees)) {
+                Invariant invariant = new Invariant(this);
+                invariants.add(invariant);
+                return invariant;
+            }
+
+            return new Binaire(operateur, gauche.extraitInvariants(modifiees, invariants),
+                    droite.extraitInvariants(modifiees, invariants));
+        }
+
+        @Override
+        public String traduit(Compilateur compilateur) {
+            switch (type) {
+                case ENTIER:
+                    return "(" + compilateur.entier(gauche) + " " + symbole() + " " + compilateur.entier(droite) + ")";
+                case REEL:
+                    return "(" + compilateur.reel(gauche) + " " + symbole() + " " + compilateur.reel(droite) + ")";
+                case CHAINE:
+                    return "(" + compilateur.chaine(gauche) + " + " + compilateur.chaine(droite) + ")";
+                case BOOLEEN:
+                    break;
+                default:
+                    return "Operations.arithmetique(Expression.Operateur." + operateur + ", "
+                            + compilateur.objet(gauche) + ", " + compilateur.objet(droite) + ")";
+            }
+
+            switch (operateur) {
+                case ET:
+                    return "(" + compilateur.booleen(gauche) + " && " + compilateur.booleen(droite) + ")";
+                case OU:
+                    return "(" + compilateur.booleen(gauche) + " || " + compilateur.booleen(droite) + ")";
+                case EGAL:
+                case DIFFERENT:
+                    if (!operandesNumeriques) {
+                        String egal = "Operations.egal(" + compilateur.objet(gauche) + ", "
+                                + compilateur.objet(droite) + ")";
+                        return operateur == Operateur.EGAL ? egal : "(!" + egal + ")";
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (operandesEntiers) {
+                return "(" + compilateur.entier(gauche) + " " + symbole() + " " + compilateur.entier(droite) + ")";
+            } else if (operandesNumeriques) {
+                return "(Double.compare(" + compilateur.reel(gauche) + ", " + compilateur.reel(droite) + ") "
+                        + symbole() + " 0)";
+            }
+
+            return "(Operations.compare(" + compilateur.objet(gauche) + ", " + compilateur.objet(droite) + ") "
+                    + symbole() + " 0)";
+        }
+
+        /**
+         * Retourne l'opérateur Java correspondant à l'opérateur arithmétique ou de comparaison.
+         */
+        private String symbole() {
+            switch (operateur) {
+                case EGAL:
+                    return "==";
+                case DIFFERENT:
+                    return "!=";
+                case INFERIEUR:
+                    return "<";
+                case INFERIEUR_EGAL:
+                    return "<=";
+                case SUPERIEUR:
+                    return ">";
+                case SUPERIEUR_EGAL:
+                    return ">=";
+                case PLUS:
+                    return "+";
+                case MOINS:
+                    return "-";
+                case FOIS:
+                    return "*";
+                case DIVISE:
+                    return "/";
+                default:
+                    return "%";
+            }
+        }
+    }
+
+    /**
+     * Appel d'une fonction de la bibliothèque. L'évaluation des arguments est liée une fois pour toutes à la méthode
+     * appelée (voir Fonction.lie) : un appel dont le résultat est lu dans son type ne crée aucun objet.
+     */
+    public static final class Appel extends Expression {
+        /**
+         * Fonction appelée, résolue à la compilation.
+         */
+        private Fonction fonction;
+
+        /**
+         * Arguments de l'appel.
+         */
+        private Expression[] arguments;
+
+        /**
+         * Appel lié à ses arguments, retournant le résultat dans le type Java de la méthode.
+         */
+        private MethodHandle appel;
+
+        /**
+         * Appel lié à ses arguments, retournant le résultat sous forme d'objet.
+         */
+        private MethodHandle appelObjet;
+
+        /**
+         * Initialise un appel de fonction.
+         *
+         * @param fonction  Fonction appelée.
+         * @param arguments Arguments de l'appel.
+         */
+        public Appel(Fonction fonction, Expression[] arguments) {
+            this.fonction = fonction;
+            this.arguments = arguments;
+            this.appel = fonction.lie(arguments);
+            this.appelObjet = appel.asType(MethodType.methodType(Object.class));
+        }
+
+        @Override
+        public Object evalue() {
+            long debut = fonction.debutAppel();
+            try {
+                return (Object) appelObjet.invokeExact();
+            } catch (Throwable e) {
+                throw Fonction.erreur(e);
+            } finally {
+                fonction.finAppel(debut);
+            }
+        }
+
+        @Override
+        public boolean evalueBooleen() {
+            if (getType() != Variable.Type.BOOLEEN) {
+                return super.evalueBooleen();
+            }
+
+            long debut = fonction.debutAppel();
+            try {
+                return (boolean) appel.invokeExact();
+            } catch (Throwable e) {
+                throw Fonction.erreur(e);
+            } finally {
+                fonction.finAppel(debut);
+            }
+        }
+
+        @Override
+        public long evalueEntier() {
+            long debut = fonction.debutAppel();
+            try {
+                switch (getType()) {
+                    case ENTIER:
+                        return (long) appel.invokeExact();
+                    case REEL:
+                        return (long) (double) appel.invokeExact();
+                    case CARACTERE:
+                        return (char) appel.invokeExact();
+                    default:
+                        return Operations.enLong((Object) appelObjet.invokeExact());
+                }
+            } catch (Throwable e) {
+                throw Fonction.erreur(e);
+            } finally {
+                fonction.finAppel(debut);
+            }
+        }
+
+        @Override
+        public double evalueReel() {
+            long debut = fonction.debutAppel();
+            try {
+                switch (getType()) {
+                    case ENTIER:
+                        return (long) appel.invokeExact();
+                    case REEL:
+                        return (double) appel.invokeExact();
+                    case CARACTERE:
+                        return (char) appel.invokeExact();
+                    default:
+                        return Operations.enDouble((Object) appelObjet.invokeExact());
+                }
+            } catch (Throwable e) {
+                throw Fonction.erreur(e);
+            } finally {
+                fonction.finAppel(debut);
+            }
+        }
+
+        @Override
+        public Variable.Type getType() {
+            return fonction.getResultat();
+        }
+
+        @Override
+        public Expression simplifie() {
+            Expression[] simplifies = new Expression[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                simplifies[i] = arguments[i].simplifie();
+            }
+
+            return new Appel(fonction, simplifies);
+        }
+
+        @Override
+        public Expression extraitInvariants(Set<Variable> modifiees, List<Invariant> invariants) {
+            Expression[] extraits = new Expression[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                extraits[i] = arguments[i].extraitInvariants(modifiees, invariants);
+            }
+
+            return new Appel(fonction, extraits);
+        }
+
+        /**
+         * Appelle directement la méthode de la fonction, chaque argument étant traduit dans le type de son
+         * paramètre. Un appel mesuré par le profileur, ou dont la méthode n'est pas accessible depuis la classe
+         * générée, est évalué par son noeud.
+         */
+        @Override
+        public String traduit(Compilateur compilateur) {
+            Method methode = fonction.getMethode();
+            if (fonction.estMesuree() || !estAccessible(methode.getDeclaringClass())) {
+                return compilateur.delegue(this);
+            }
+
+            StringBuilder source = new StringBuilder(methode.getDeclaringClass().getCanonicalName())
+                    .append('.').append(methode.getName()).append('(');
+            for (int i = 0; i < arguments.length; i++) {
+                source.append(i > 0 ? ", " : "")
+                        .append(traduitArgument(compilateur, arguments[i], methode.getParameterTypes()[i]));
+            }
+
+            source.append(')');
+            return getType() == Variable.Type.AUTRE ? "((Object) " + source + ")" : source.toString();
+        }
+
+        /**
+         * Retourne le source d'un argument converti dans le type Java de son paramètre, comme le fait Fonction.lie.
+         *
+         * @param compilateur Compilateur du programme.
+         * @param argument    Argument.
+         * @param parametre   Type Java du paramètre.
+         */
+        private static String traduitArgument(Compilateur compilateur, Expression argument, Class<?> parametre) {
+            boolean numerique = argument.getType() == Variable.Type.ENTIER || argument.getType() == Variable.Type.REEL
+                    || argument.getType() == Variable.Type.CARACTERE;
+            if (parametre == long.class) {
+                return numerique ? compilateur.entier(argument)
+                        : "Fonction.enEntier(" + compilateur.objet(argument) + ")";
+            } else if (parametre == double.class) {
+                return numerique ? compilateur.reel(argument)
+                        : "Fonction.enReel(" + compilateur.objet(argument) + ")";
+            } else if (parametre == boolean.class) {
+                return compilateur.booleen(argument);
+            } else if (parametre == char.class) {
+                return argument.getType() == Variable.Type.CARACTERE ? compilateur.traduit(argument)
+                        : "Fonction.enCaractere(" + compilateur.objet(argument) + ")";
+            } else if (parametre == String.class) {
+                return compilateur.chaine(argument);
+            }
+
+            return compilateur.objet(argument);
+        }
+
+        /**
+         * Indique si une classe peut être nommée depuis la classe générée : elle et les classes qui la contiennent
+         * sont publiques.
+         *
+         * @param classe Classe déclarant la méthode appelée.
+         */
+        private static boolean estAccessible(Class<?> classe) {
+            return classe.getCanonicalName() != null && Modifier.isPublic(classe.getModifiers())
+                    && (classe.getEnclosingClass() == null || estAccessible(classe.getEnclosingClass()));
+        }
+    }
+
+    /**
+     * Sous-expression extraite d'une boucle, dont la valeur ne change pas tant que la boucle s'exécute. Elle est
+     * calculée à sa première utilisation, puis conservée jusqu'à ce que la boucle soit de nouveau atteinte depuis
+     * l'extérieur (ou que l'état de l'exécution soit restauré).
+     */
+    public static final class Invariant extends Expression {
+        /**
+         * Expression calculée.
+         */
+        private Expression expression;
+
+        /**
+         * Type de la valeur de l'expression.
+         */
+        private Variable.Type type;
+
+        /**
+         * Indique si la valeur conservée est à jour.
+         */
+        private boolean calculee;
+
+        /**
+         * Valeur conservée, si l'expression n'est pas entière, réelle ni booléenne.
+         */
+        private Object valeur;
+
+        /**
+         * Valeur conservée, si l'expression est entière.
+         */
+        private long entier;
+
+        /**
+         * Valeur conservée, si l'expression est réelle.
+         */
+        private double reel;
+
+        /**
+         * Valeur conservée, si l'expression est booléenne.
+         */
+        private boolean booleen;
+
+        /**
+         * Initialise un invariant, qui n'est pas encore calculé.
+         *
+         * @param expression Expression invariante.
+         */
+        public Invariant(Expression expression) {
+            this.expression = expression;
+            this.type = expression.getType();
+            this.calculee = false;
+        }
+
+        /**
+         * Oublie la valeur conservée : elle sera recalculée à la prochaine utilisation.
+         */
+        public void invalide() {
+            calculee = false;
+        }
+
+        /**
+         * Calcule et conserve la valeur de l'expression, sous forme primitive lorsque son type le permet.
+         */
+        private void calcule() {
+            switch (type) {
+                case ENTIER:
+                    entier = expression.evalueEntier();
+                    valeur = entier;
+                    break;
+                case REEL:
+                    reel = expression.evalueReel();
+                    valeur = reel;
+                    break;
+                case BOOLEEN:
+                    booleen = expression.evalueBooleen();
+                    valeur = booleen;
+                    break;
+                default:
+                    valeur = expression.evalue();
+                    break;
+            }
+
+            calculee = true;
+        }
+
+        @Override
+        public Object evalue() {
+            if (!calculee) {
+                calcule();
+            }
+
+            return valeur;
+        }
+
+        @Override
+        public long evalueEntier() {
+            if (!calculee) {
+                calcule();
+            }
+
+            return type == Variable.Type.ENTIER ? entier : Operations.enLong(valeur);
+        }
+
+        @Override
+        public double evalueReel() {
+            if (!calculee) {
+                calcule();
+            }
+
+            switch (type) {
+                case REEL:
+                    return reel;
+                case ENTIER:
+                    return entier;
+                default:
+                    return Operations.enDouble(valeur);
+            }
+        }
+
+        @Override
+        public boolean evalueBooleen() {
+            if (!calculee) {
+                calcule();
+            }
+
+            return type == Variable.Type.BOOLEEN ? booleen : (boolean) valeur;
+        }
+
+        @Override
+        public Variable.Type getType() {
+            return type;
+        }
+
+        @Override
+        public String traduit(Compilateur compilateur) {
+            return compilateur.traduit(expression);
+        }
+    }
+
+    /**
+     * Expression que le compilateur natif ne sait pas traiter, déléguée à BeanShell.
+     */
+    public static final class BeanShell extends Expression {
+        /**
+         * Texte de l'expression, tel qu'il sera évalué par BeanShell.
+         */
+        private String texte;
+
+        /**
+         * Contexte d'évaluation de l'interpréteur auquel appartient l'expression.
+         */
+        private Scripting scripting;
+
+        /**
+         * Initialise une expression évaluée par BeanShell.
+         *
+         * @param texte     Texte de l'expression.
+         * @param scripting Contexte d'évaluation de l'interpréteur auquel appartient l'expression.
+         */
+        public BeanShell(String texte, Scripting scripting) {
+            this.texte = texte;
+            this.scripting = scripting;
+        }
+
+        @Override
+        public Object evalue() {
+            return scripting.calculeBeanShell(texte);
+        }
+    }
+}
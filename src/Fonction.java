@@ -0,0 +1,409 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fonction native mise à disposition du pseudo-code : une méthode Java statique et publique, dont la signature donne
+ * le type de chacun des paramètres et celui du résultat (long pour entier, double pour réel, boolean, char, String,
+ * Object pour un type quelconque).
+ * <p>
+ * La méthode est appelée directement, sans tableau d'arguments ni conversion de son résultat : un Appel lie une
+ * fois pour toutes l'évaluation de chacun de ses arguments, dans le type du paramètre, à la méthode (voir lie), et
+ * un programme compilé appelle la méthode par son nom. Un argument n'est converti que s'il n'a pas le type de son
+ * paramètre : une chaîne passée à un paramètre numérique est alors lue comme un nombre, et un caractère est pris
+ * comme le premier caractère du texte de la valeur.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class Fonction {
+    /**
+     * Type de pseudo-code correspondant à chaque type Java accepté pour un paramètre ou un résultat.
+     */
+    private static final Map<Class<?>, Variable.Type> TYPES = new HashMap<>();
+
+    /**
+     * Évaluation d'une expression dans chaque type Java de paramètre, de type (Expression)T.
+     */
+    private static final Map<Class<?>, MethodHandle> EVALUATIONS = new HashMap<>();
+
+    static {
+        TYPES.put(long.class, Variable.Type.ENTIER);
+        TYPES.put(double.class, Variable.Type.REEL);
+        TYPES.put(boolean.class, Variable.Type.BOOLEEN);
+        TYPES.put(char.class, Variable.Type.CARACTERE);
+        TYPES.put(String.class, Variable.Type.CHAINE);
+        TYPES.put(Object.class, Variable.Type.AUTRE);
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            EVALUATIONS.put(long.class, lookup.findStatic(Fonction.class, "enEntier",
+                    MethodType.methodType(long.class, Expression.class)));
+            EVALUATIONS.put(double.class, lookup.findStatic(Fonction.class, "enReel",
+                    MethodType.methodType(double.class, Expression.class)));
+            EVALUATIONS.put(boolean.class, lookup.findStatic(Fonction.class, "enBooleen",
+                    MethodType.methodType(boolean.class, Expression.class)));
+            EVALUATIONS.put(char.class, lookup.findStatic(Fonction.class, "enCaractere",
+                    MethodType.methodType(char.class, Expression.class)));
+            EVALUATIONS.put(String.class, lookup.findStatic(Fonction.class, "enChaine",
+                    MethodType.methodType(String.class, Expression.class)));
+            EVALUATIONS.put(Object.class, lookup.findStatic(Fonction.class, "objet",
+                    MethodType.methodType(Object.class, Expression.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Nom de la fonction dans le pseudo-code.
+     */
+    private String nom;
+
+    /**
+     * Méthode appelée.
+     */
+    private Method methode;
+
+    /**
+     * Accès direct à la méthode appelée.
+     */
+    private MethodHandle acces;
+
+    /**
+     * Type du résultat.
+     */
+    private Variable.Type resultat;
+
+    /**
+     * Type de chacun des paramètres.
+     */
+    private Variable.Type[] parametres;
+
+    /**
+     * Profileur mesurant chaque appel, ou null.
+     */
+    private Profileur profileur;
+
+    /**
+     * Index de la fonction dans le profileur.
+     */
+    private int indice;
+
+    /**
+     * Initialise une fonction appelant la méthode statique publique portant le nom donné, qui ne doit pas être
+     * surchargée.
+     *
+     * @param nom     Nom de la fonction dans le pseudo-code.
+     * @param classe  Classe déclarant la méthode.
+     * @param methode Nom de la méthode.
+     * @throws IllegalArgumentException Si la méthode n'existe pas, est surchargée ou a une signature non acceptée.
+     */
+    public Fonction(String nom, Class<?> classe, String methode) {
+        this(nom, trouve(classe, methode));
+    }
+
+    /**
+     * Initialise une fonction appelant la méthode statique publique donnée.
+     *
+     * @param nom     Nom de la fonction dans le pseudo-code.
+     * @param methode Méthode appelée.
+     * @throws IllegalArgumentException Si la méthode n'est pas statique et publique, ou a une signature non acceptée.
+     */
+    public Fonction(String nom, Method methode) {
+        if (!Modifier.isStatic(methode.getModifiers()) || !Modifier.isPublic(methode.getModifiers())) {
+            throw new IllegalArgumentException(methode + " doit être statique et publique.");
+        }
+
+        this.nom = nom;
+        this.methode = methode;
+        this.resultat = methode.getReturnType().isPrimitive() ? TYPES.get(methode.getReturnType())
+                : TYPES.getOrDefault(methode.getReturnType(), Variable.Type.AUTRE);
+        this.parametres = new Variable.Type[methode.getParameterCount()];
+        for (int i = 0; i < parametres.length; i++) {
+            parametres[i] = TYPES.get(methode.getParameterTypes()[i]);
+            if (parametres[i] == null) {
+                throw new IllegalArgumentException(methode + " : type de paramètre non accepté.");
+            }
+        }
+
+        if (resultat == null) {
+            throw new IllegalArgumentException(methode + " : type de résultat non accepté.");
+        }
+
+        try {
+            this.acces = MethodHandles.publicLookup().unreflect(methode);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(methode + " n'est pas accessible.", e);
+        }
+    }
+
+    /**
+     * Retourne la méthode statique publique portant le nom donné.
+     *
+     * @param classe  Classe déclarant la méthode.
+     * @param methode Nom de la méthode.
+     * @throws IllegalArgumentException Si la méthode n'existe pas ou est surchargée.
+     */
+    private static Method trouve(Class<?> classe, String methode) {
+        Method[] trouvees = Arrays.stream(classe.getMethods())
+                .filter(m -> m.getName().equals(methode) && Modifier.isStatic(m.getModifiers()))
+                .toArray(Method[]::new);
+        if (trouvees.length != 1) {
+            throw new IllegalArgumentException(classe.getName() + "." + methode + " : méthode absente ou surchargée.");
+        }
+
+        return trouvees[0];
+    }
+
+    /**
+     * Retourne une copie de cette fonction dont chaque appel est mesuré par le profileur donné.
+     *
+     * @param profileur Profileur mesurant les appels.
+     * @param indice    Index de la fonction dans le profileur.
+     */
+    public Fonction mesuree(Profileur profileur, int indice) {
+        Fonction mesuree = new Fonction(nom, methode);
+        mesuree.profileur = profileur;
+        mesuree.indice = indice;
+        return mesuree;
+    }
+
+    /**
+     * Indique si les appels sont mesurés par un profileur. Un programme compilé évalue alors l'appel par son noeud.
+     */
+    public boolean estMesuree() {
+        return this.profileur != null;
+    }
+
+    /**
+     * Retourne l'instant du début d'un appel, s'il est mesuré.
+     */
+    long debutAppel() {
+        return profileur != null && profileur.estActif() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Enregistre la durée d'un appel, s'il est mesuré.
+     *
+     * @param debut Instant du début de l'appel, retourné par debutAppel.
+     */
+    void finAppel(long debut) {
+        if (profileur != null && profileur.estActif()) {
+            profileur.enregistreAppel(indice, System.nanoTime() - debut);
+        }
+    }
+
+    /**
+     * Retourne un accès à la méthode, sans paramètre, qui évalue lui-même chacun des arguments donnés dans le type
+     * de son paramètre, de gauche à droite, puis appelle la méthode. Son type de retour est celui de la méthode.
+     *
+     * @param arguments Arguments de l'appel, un par paramètre.
+     */
+    MethodHandle lie(Expression[] arguments) {
+        MethodHandle appel = acces;
+        for (int i = arguments.length - 1; i >= 0; i--) {
+            MethodHandle evaluation = EVALUATIONS.get(methode.getParameterTypes()[i]).bindTo(arguments[i]);
+            appel = MethodHandles.collectArguments(appel, i, evaluation);
+        }
+
+        return appel;
+    }
+
+    /**
+     * Appelle la fonction avec des arguments quelconques, convertis au besoin dans le type de leur paramètre. Cet
+     * appel générique ne sert qu'aux expressions évaluées par BeanShell.
+     *
+     * @param arguments Valeur de chacun des arguments.
+     * @return Le résultat.
+     * @throws IllegalArgumentException Si le nombre d'arguments ne correspond pas à la signature.
+     */
+    public Object appelle(Object[] arguments) {
+        if (arguments.length != parametres.length) {
+            throw new IllegalArgumentException(nom + " attend " + parametres.length + " argument(s).");
+        }
+
+        Object[] convertis = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            switch (parametres[i]) {
+                case ENTIER:
+                    convertis[i] = enEntier(arguments[i]);
+                    break;
+                case REEL:
+                    convertis[i] = enReel(arguments[i]);
+                    break;
+                case CARACTERE:
+                    convertis[i] = enCaractere(arguments[i]);
+                    break;
+                case CHAINE:
+                    convertis[i] = String.valueOf(arguments[i]);
+                    break;
+                default:
+                    convertis[i] = arguments[i];
+                    break;
+            }
+        }
+
+        try {
+            return acces.invokeWithArguments(convertis);
+        } catch (Throwable e) {
+            throw erreur(e);
+        }
+    }
+
+    /**
+     * Retourne l'exception à lever pour une erreur survenue pendant un appel.
+     *
+     * @param erreur Erreur survenue.
+     */
+    static RuntimeException erreur(Throwable erreur) {
+        if (erreur instanceof Error) {
+            throw (Error) erreur;
+        }
+
+        return erreur instanceof RuntimeException ? (RuntimeException) erreur : new IllegalStateException(erreur);
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre entier.
+     *
+     * @param expression Argument.
+     */
+    public static long enEntier(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+            case REEL:
+            case CARACTERE:
+                return expression.evalueEntier();
+            default:
+                return enEntier(expression.evalue());
+        }
+    }
+
+    /**
+     * Convertit une valeur passée à un paramètre entier.
+     *
+     * @param valeur Argument.
+     */
+    public static long enEntier(Object valeur) {
+        return Operations.estNumerique(valeur) ? Operations.enLong(valeur) : Long.parseLong(String.valueOf(valeur));
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre réel.
+     *
+     * @param expression Argument.
+     */
+    public static double enReel(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+            case REEL:
+            case CARACTERE:
+                return expression.evalueReel();
+            default:
+                return enReel(expression.evalue());
+        }
+    }
+
+    /**
+     * Convertit une valeur passée à un paramètre réel.
+     *
+     * @param valeur Argument.
+     */
+    public static double enReel(Object valeur) {
+        return Operations.estNumerique(valeur) ? Operations.enDouble(valeur)
+                : Double.parseDouble(String.valueOf(valeur));
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre booléen.
+     *
+     * @param expression Argument.
+     */
+    public static boolean enBooleen(Expression expression) {
+        return expression.evalueBooleen();
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre caractère.
+     *
+     * @param expression Argument.
+     */
+    public static char enCaractere(Expression expression) {
+        if (expression.getType() == Variable.Type.CARACTERE) {
+            return (char) expression.evalueEntier();
+        }
+
+        return enCaractere(expression.evalue());
+    }
+
+    /**
+     * Convertit une valeur passée à un paramètre caractère.
+     *
+     * @param valeur Argument.
+     */
+    public static char enCaractere(Object valeur) {
+        return valeur instanceof Character ? (Character) valeur : String.valueOf(valeur).charAt(0);
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre chaîne.
+     *
+     * @param expression Argument.
+     */
+    public static String enChaine(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+                return String.valueOf(expression.evalueEntier());
+            case REEL:
+                return String.valueOf(expression.evalueReel());
+            case BOOLEEN:
+                return String.valueOf(expression.evalueBooleen());
+            case CARACTERE:
+                return String.valueOf((char) expression.evalueEntier());
+            default:
+                return String.valueOf(expression.evalue());
+        }
+    }
+
+    /**
+     * Évalue une expression passée à un paramètre de type quelconque.
+     *
+     * @param expression Argument.
+     */
+    public static Object objet(Expression expression) {
+        return expression.evalue();
+    }
+
+    /**
+     * Retourne le nom de la fonction.
+     */
+    public String getNom() {
+        return this.nom;
+    }
+
+    /**
+     * Retourne la méthode appelée.
+     */
+    public Method getMethode() {
+        return this.methode;
+    }
+
+    /**
+     * Retourne le type du résultat.
+     */
+    public Variable.Type getResultat() {
+        return this.resultat;
+    }
+
+    /**
+     * Retourne le type de chacun des paramètres.
+     */
+    public Variable.Type[] getParametres() {
+        return this.parametres.clone();
+    }
+}
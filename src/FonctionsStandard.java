@@ -0,0 +1,189 @@
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fonctions natives standard du pseudo-code, historiquement définies en BeanShell par Scripting.creerFonctions.
+ * Chacune est une méthode Java typée, appelée directement (voir Fonction) : les arguments lui parviennent dans le
+ * type de ses paramètres, sans tableau ni conversion par leur texte.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public final class FonctionsStandard implements FournisseurFonctions {
+    @Override
+    public List<Fonction> getFonctions() {
+        Class<?> classe = FonctionsStandard.class;
+        return Arrays.asList(
+                new Fonction("hasard", classe, "hasard"),
+                new Fonction("estEntier", classe, "estEntier"),
+                new Fonction("car", classe, "car"),
+                new Fonction("ord", classe, "ord"),
+                new Fonction("enChaine", classe, "enChaine"),
+                new Fonction("enEntier", classe, "enEntier"),
+                new Fonction("enReel", classe, "enReel"),
+                new Fonction("plafond", classe, "plafond"),
+                new Fonction("plancher", classe, "plancher"),
+                new Fonction("arrondi", classe, "arrondi"),
+                new Fonction("aujourdhui", classe, "aujourdhui"),
+                new Fonction("jour", classe, "jour"),
+                new Fonction("mois", classe, "mois"),
+                new Fonction("annee", classe, "annee"),
+                new Fonction("estReel", classe, "estReel"),
+                new Fonction("ecrire", classe, "ecrire"));
+    }
+
+    /**
+     * Retourne un entier au hasard, entre 0 (inclus) et la borne donnée (exclue).
+     *
+     * @param borne Borne supérieure.
+     */
+    public static long hasard(long borne) {
+        return (long) (Math.random() * borne);
+    }
+
+    /**
+     * Indique si le texte donné est un entier.
+     *
+     * @param texte Texte à examiner.
+     */
+    public static boolean estEntier(String texte) {
+        try {
+            Long.parseLong(texte);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retourne le caractère du code donné.
+     *
+     * @param code Code du caractère.
+     */
+    public static char car(long code) {
+        return (char) code;
+    }
+
+    /**
+     * Retourne le code du caractère donné.
+     *
+     * @param caractere Caractère.
+     */
+    public static long ord(char caractere) {
+        return caractere;
+    }
+
+    /**
+     * Retourne le texte de la valeur donnée, déjà convertie en chaîne.
+     *
+     * @param texte Texte de la valeur.
+     */
+    public static String enChaine(String texte) {
+        return texte;
+    }
+
+    /**
+     * Convertit un texte en entier.
+     *
+     * @param texte Texte à convertir.
+     */
+    public static long enEntier(String texte) {
+        return Long.parseLong(texte);
+    }
+
+    /**
+     * Convertit un texte en réel.
+     *
+     * @param texte Texte à convertir.
+     */
+    public static double enReel(String texte) {
+        return Double.parseDouble(texte);
+    }
+
+    /**
+     * Partie entière supérieure, telle que définie historiquement : la partie entière plus un, même pour un réel
+     * déjà entier.
+     *
+     * @param reel Réel à arrondir.
+     */
+    public static long plafond(double reel) {
+        return ((int) reel) + 1;
+    }
+
+    /**
+     * Partie entière inférieure, telle que définie historiquement : la partie entière, tronquée vers zéro.
+     *
+     * @param reel Réel à arrondir.
+     */
+    public static long plancher(double reel) {
+        return (int) reel;
+    }
+
+    /**
+     * Arrondi à l'entier le plus proche, une partie décimale d'exactement 0,5 étant arrondie vers le bas.
+     *
+     * @param reel Réel à arrondir.
+     */
+    public static long arrondi(double reel) {
+        return reel - ((int) reel) > 0.5 ? plafond(reel) : plancher(reel);
+    }
+
+    /**
+     * Retourne la date du jour, au format jj/mm/aaaa.
+     */
+    public static String aujourdhui() {
+        return new SimpleDateFormat("dd/MM/yyyy").format(new Date());
+    }
+
+    /**
+     * Retourne le jour d'une date au format jj/mm/aaaa.
+     *
+     * @param date Date.
+     */
+    public static String jour(String date) {
+        return date.split("/")[0];
+    }
+
+    /**
+     * Retourne le mois d'une date au format jj/mm/aaaa.
+     *
+     * @param date Date.
+     */
+    public static String mois(String date) {
+        return date.split("/")[1];
+    }
+
+    /**
+     * Retourne l'année d'une date au format jj/mm/aaaa.
+     *
+     * @param date Date.
+     */
+    public static String annee(String date) {
+        return date.split("/")[2];
+    }
+
+    /**
+     * Indique si le texte donné est un réel, la virgule étant acceptée comme séparateur décimal.
+     *
+     * @param texte Texte à examiner.
+     */
+    public static boolean estReel(String texte) {
+        try {
+            Double.parseDouble(texte.replace(",", "."));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retourne le texte donné, tel quel : ecrire(x) utilisé dans une expression vaut le texte de x.
+     *
+     * @param texte Texte de la valeur.
+     */
+    public static String ecrire(String texte) {
+        return texte;
+    }
+}
@@ -0,0 +1,19 @@
+import java.util.List;
+
+/**
+ * Fournisseur de fonctions natives pour la Bibliotheque.
+ * <p>
+ * Les fournisseurs sont découverts au démarrage par java.util.ServiceLoader : pour ajouter des fonctions, il suffit
+ * de placer sur le classpath une classe implémentant cette interface (avec un constructeur sans argument) et un
+ * fichier META-INF/services/FournisseurFonctions contenant son nom. Une fonction portant le nom d'une fonction
+ * existante la remplace.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-26
+ */
+public interface FournisseurFonctions {
+    /**
+     * Retourne les fonctions fournies.
+     */
+    List<Fonction> getFonctions();
+}
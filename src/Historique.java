@@ -0,0 +1,131 @@
+import java.util.ArrayList;
+
+/**
+ * Historique des instantanés d'exécution, permettant de revenir à une étape passée sans tout réinterprêter depuis
+ * le début. Un instantané est conservé toutes les 'intervalle' étapes ; lorsque la capacité est atteinte, un
+ * instantané sur deux est abandonné et l'intervalle doublé, ce qui borne la mémoire utilisée quelle que soit la
+ * longueur de l'exécution.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-02-05
+ */
+public final class Historique {
+    /**
+     * Intervalle initial, en étapes, entre deux instantanés.
+     */
+    public static final int INTERVALLE_DEFAUT = 64;
+
+    /**
+     * Nombre maximal d'instantanés conservés par défaut.
+     */
+    public static final int CAPACITE_DEFAUT = 128;
+
+    /**
+     * Instantanés conservés, triés par étape croissante.
+     */
+    private ArrayList<Instantane> instantanes;
+
+    /**
+     * Intervalle courant, en étapes, entre deux instantanés.
+     */
+    private int intervalle;
+
+    /**
+     * Nombre maximal d'instantanés conservés.
+     */
+    private int capacite;
+
+    /**
+     * Initialise un historique avec l'intervalle et la capacité par défaut.
+     */
+    public Historique() {
+        this(INTERVALLE_DEFAUT, CAPACITE_DEFAUT);
+    }
+
+    /**
+     * Initialise un historique.
+     *
+     * @param intervalle Intervalle initial, en étapes, entre deux instantanés.
+     * @param capacite   Nombre maximal d'instantanés conservés (au moins 2).
+     */
+    public Historique(int intervalle, int capacite) {
+        this.instantanes = new ArrayList<>();
+        this.intervalle = Math.max(1, intervalle);
+        this.capacite = Math.max(2, capacite);
+    }
+
+    /**
+     * Indique si un instantané doit être pris à l'étape donnée.
+     *
+     * @param etape Étape venant d'être atteinte.
+     */
+    public boolean doitEnregistrer(long etape) {
+        return etape % intervalle == 0;
+    }
+
+    /**
+     * Ajoute un instantané à l'historique. Il doit être postérieur à tous ceux déjà conservés.
+     *
+     * @param instantane Instantané à ajouter.
+     */
+    public void enregistre(Instantane instantane) {
+        instantanes.add(instantane);
+
+        if (instantanes.size() > capacite) {
+            intervalle *= 2;
+
+            ArrayList<Instantane> conserves = new ArrayList<>();
+            for (Instantane i : instantanes) {
+                if (i.getEtape() % intervalle == 0) {
+                    conserves.add(i);
+                }
+            }
+
+            instantanes = conserves;
+        }
+    }
+
+    /**
+     * Retourne l'instantané le plus récent dont l'étape est inférieure ou égale à l'étape donnée.
+     *
+     * @param etape Étape recherchée.
+     * @return L'instantané trouvé, ou null si l'historique est vide.
+     */
+    public Instantane plusProche(long etape) {
+        int bas = 0;
+        int haut = instantanes.size() - 1;
+        Instantane trouve = null;
+
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            Instantane instantane = instantanes.get(milieu);
+
+            if (instantane.getEtape() <= etape) {
+                trouve = instantane;
+                bas = milieu + 1;
+            } else {
+                haut = milieu - 1;
+            }
+        }
+
+        return trouve;
+    }
+
+    /**
+     * Abandonne les instantanés postérieurs à l'étape donnée.
+     *
+     * @param etape Dernière étape conservée.
+     */
+    public void tronque(long etape) {
+        while (!instantanes.isEmpty() && instantanes.get(instantanes.size() - 1).getEtape() > etape) {
+            instantanes.remove(instantanes.size() - 1);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'instantanés conservés.
+     */
+    public int getTaille() {
+        return instantanes.size();
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Instantané de l'état d'exécution à une étape donnée : valeur des variables, position dans le programme et taille
+ * des différentes traces. Les traces ne sont jamais que complétées, leur taille suffit donc à les restaurer.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-02-05
+ */
+public final class Instantane {
+    /**
+     * Nombre d'étapes exécutées au moment de l'instantané.
+     */
+    private long etape;
+
+    /**
+     * Ligne en cours de traitement au moment de l'instantané.
+     */
+    private int numLigneTraitee;
+
+    /**
+     * Copie du cadre contenant la valeur des variables.
+     */
+    private Cadre cadre;
+
+    /**
+     * Taille de la trace d'exécution.
+     */
+    private int tailleTraceExecution;
+
+    /**
+     * Taille de la trace des variables.
+     */
+    private int tailleVariablesTracees;
+
+    /**
+     * Nombre de saisies consommées par lire().
+     */
+    private int nombreSaisies;
+
+    /**
+     * Initialise un instantané.
+     *
+     * @param etape                  Nombre d'étapes exécutées.
+     * @param numLigneTraitee        Ligne en cours de traitement.
+     * @param cadre                  Copie du cadre contenant la valeur des variables.
+     * @param tailleTraceExecution   Taille de la trace d'exécution.
+     * @param tailleVariablesTracees Taille de la trace des variables.
+     * @param nombreSaisies          Nombre de saisies consommées par lire().
+     */
+    public Instantane(long etape, int numLigneTraitee, Cadre cadre, int tailleTraceExecution,
+                      int tailleVariablesTracees, int nombreSaisies) {
+        this.etape = etape;
+        this.numLigneTraitee = numLigneTraitee;
+        this.cadre = cadre;
+        this.tailleTraceExecution = tailleTraceExecution;
+        this.tailleVariablesTracees = tailleVariablesTracees;
+        this.nombreSaisies = nombreSaisies;
+    }
+
+    /**
+     * Retourne le nombre d'étapes exécutées au moment de l'instantané.
+     */
+    public long getEtape() {
+        return this.etape;
+    }
+
+    /**
+     * Retourne la ligne en cours de traitement au moment de l'instantané.
+     */
+    public int getNumLigneTraitee() {
+        return this.numLigneTraitee;
+    }
+
+    /**
+     * Retourne la copie du cadre contenant la valeur des variables.
+     */
+    public Cadre getCadre() {
+        return this.cadre;
+    }
+
+    /**
+     * Retourne la taille de la trace d'exécution.
+     */
+    public int getTailleTraceExecution() {
+        return this.tailleTraceExecution;
+    }
+
+    /**
+     * Retourne la taille de la trace des variables.
+     */
+    public int getTailleVariablesTracees() {
+        return this.tailleVariablesTracees;
+    }
+
+    /**
+     * Retourne le nombre de saisies consommées par lire().
+     */
+    public int getNombreSaisies() {
+        return this.nombreSaisies;
+    }
+}
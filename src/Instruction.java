@@ -0,0 +1,237 @@
+/**
+ * Classe représentant une ligne de pseudo-code une fois analysée. Chaque instruction connaît sa nature (affectation,
+ * condition, boucle...), son numéro de ligne ainsi que les éléments nécessaires à son exécution.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-15
+ */
+public final class Instruction {
+    /**
+     * Les différentes natures d'instruction.
+     */
+    public enum Nature {
+        VIDE,
+        ALGORITHME,
+        SECTION,
+        DECLARATION,
+        CONSTANTE,
+        DEBUT,
+        FIN,
+        AFFECTATION,
+        ECRIRE,
+        LIRE,
+        APPEL,
+        SI,
+        SINON,
+        FSI,
+        TANT_QUE,
+        FTQ,
+        SAUT,
+        INCONNUE
+    }
+
+    /**
+     * Nature de l'instruction.
+     */
+    private Nature nature;
+
+    /**
+     * Numéro de la ligne de l'instruction (à partir de 0).
+     */
+    private int numLigne;
+
+    /**
+     * Nom de la variable concernée (variable affectée, lue ou déclarée).
+     */
+    private String nom;
+
+    /**
+     * Type de la variable déclarée.
+     */
+    private String type;
+
+    /**
+     * Expression de l'instruction (valeur affectée ou condition).
+     */
+    private String expression;
+
+    /**
+     * Arguments de l'instruction, dans le cas d'un appel de fonction.
+     */
+    private String[] arguments;
+
+    /**
+     * Variable affectée ou lue par l'instruction, résolue à la compilation.
+     */
+    private Variable variable;
+
+    /**
+     * Expression compilée de l'instruction : valeur affectée, condition, ou message à écrire.
+     */
+    private Expression compilee;
+
+    /**
+     * Sous-expressions extraites du corps de la boucle, dans le cas d'un 'tant que'.
+     */
+    private Expression.Invariant[] invariants;
+
+    /**
+     * Initialise une instruction.
+     *
+     * @param nature   Nature de l'instruction.
+     * @param numLigne Numéro de la ligne de l'instruction.
+     */
+    public Instruction(Nature nature, int numLigne) {
+        this.nature = nature;
+        this.numLigne = numLigne;
+        this.arguments = new String[0];
+    }
+
+    /**
+     * Retourne la nature de l'instruction.
+     */
+    public Nature getNature() {
+        return this.nature;
+    }
+
+    /**
+     * Modifie la nature de l'instruction. Sert à l'Optimiseur, qui remplace par exemple un 'si' dont la condition
+     * est toujours fausse par un saut.
+     *
+     * @param nature Nouvelle nature.
+     */
+    public void setNature(Nature nature) {
+        this.nature = nature;
+    }
+
+    /**
+     * Retourne le numéro de la ligne de l'instruction.
+     */
+    public int getNumLigne() {
+        return this.numLigne;
+    }
+
+    /**
+     * Retourne le nom de la variable concernée par l'instruction.
+     */
+    public String getNom() {
+        return this.nom;
+    }
+
+    /**
+     * Modifie le nom de la variable concernée par l'instruction.
+     *
+     * @param nom Nom de la variable.
+     */
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    /**
+     * Retourne le type de la variable déclarée.
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * Modifie le type de la variable déclarée.
+     *
+     * @param type Type de la variable.
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Retourne l'expression de l'instruction.
+     */
+    public String getExpression() {
+        return this.expression;
+    }
+
+    /**
+     * Modifie l'expression de l'instruction.
+     *
+     * @param expression Expression de l'instruction.
+     */
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Retourne les arguments de l'instruction.
+     */
+    public String[] getArguments() {
+        return this.arguments;
+    }
+
+    /**
+     * Modifie les arguments de l'instruction.
+     *
+     * @param arguments Arguments de l'instruction.
+     */
+    public void setArguments(String[] arguments) {
+        this.arguments = arguments;
+    }
+
+    /**
+     * Retourne l'expression compilée de l'instruction.
+     */
+    public Expression getCompilee() {
+        return this.compilee;
+    }
+
+    /**
+     * Modifie l'expression compilée de l'instruction.
+     *
+     * @param compilee Expression compilée.
+     */
+    public void setCompilee(Expression compilee) {
+        this.compilee = compilee;
+    }
+
+    /**
+     * Retourne la variable affectée ou lue par l'instruction.
+     */
+    public Variable getVariable() {
+        return this.variable;
+    }
+
+    /**
+     * Modifie la variable affectée ou lue par l'instruction.
+     *
+     * @param variable Variable résolue.
+     */
+    public void setVariable(Variable variable) {
+        this.variable = variable;
+    }
+
+    /**
+     * Modifie les sous-expressions extraites du corps de la boucle.
+     *
+     * @param invariants Invariants de la boucle.
+     */
+    public void setInvariants(Expression.Invariant[] invariants) {
+        this.invariants = invariants;
+    }
+
+    /**
+     * Oublie la valeur des sous-expressions extraites du corps de la boucle. À appeler lorsque la boucle est
+     * atteinte depuis l'extérieur.
+     */
+    public void invalideInvariants() {
+        if (invariants == null) {
+            return;
+        }
+
+        for (Expression.Invariant invariant : invariants) {
+            invariant.invalide();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (numLigne + 1) + ": " + nature;
+    }
+}
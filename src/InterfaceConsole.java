@@ -1,6 +1,7 @@
 import org.fusesource.jansi.AnsiConsole;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface de type console. Permet de gérer l'affichage du code et des différentes traces dans la console.
@@ -11,9 +12,7 @@ import java.util.ArrayList;
 public final class InterfaceConsole {
     private static final String ANSI_RESET = "\u001B[0m";
 
-    private static final String ANSI_GREEN = "\u001B[32m";
     private static final String ANSI_YELLOW = "\u001B[33m";
-    private static final String ANSI_BLUE = "\u001B[34m";
 
     private static final String ANSI_BG_RED = "\u001B[41m";
 
@@ -34,7 +33,18 @@ public final class InterfaceConsole {
     /**
      * Lignes de code.
      */
-    private String[] lignes;
+    private List<String> lignes;
+
+    /**
+     * Lignes de code prêtes à l'affichage (tabulations remplacées, largeur de la colonne atteinte), sans couleur.
+     * Utilisées pour la ligne en cours de traitement.
+     */
+    private String[] lignesBrutes;
+
+    /**
+     * Lignes de code prêtes à l'affichage et coloriées. Chaque ligne n'est coloriée qu'une fois, au chargement.
+     */
+    private String[] lignesColoriees;
 
     /**
      * Indique si l'utilisateur courant utilise le système d'exploitation windows. Cette vérification est dûe au fait
@@ -43,6 +53,21 @@ public final class InterfaceConsole {
      */
     private boolean windowsUser;
 
+    /**
+     * Lignes du dernier écran affiché, ou null si l'écran doit être entièrement redessiné.
+     */
+    private String[] dernierEcran;
+
+    /**
+     * Signature de l'état d'exécution lors du dernier affichage (étape, ligne et taille de la trace).
+     */
+    private String derniereSignature;
+
+    /**
+     * Indique si les numéros de ligne sont colorés selon le temps passé sur chaque ligne (profilage).
+     */
+    private boolean chaleur;
+
     /**
      * Création de notre interface de type console et détermination du système d'exploitation utilisé.
      *
@@ -56,6 +81,13 @@ public final class InterfaceConsole {
         this.lecteur.lire();
         this.lignes = this.lecteur.getLignes();
 
+        this.lignesBrutes = new String[lignes.size()];
+        this.lignesColoriees = new String[lignes.size()];
+        for (int i = 0; i < lignes.size(); i++) {
+            lignesBrutes[i] = String.format("%-85s", lignes.get(i).replace("\t", "        "));
+            lignesColoriees[i] = colorie(lignesBrutes[i]);
+        }
+
         windowsUser = System.getProperty("os.name").contains("Windows");
 
         AnsiConsole.systemInstall();
@@ -63,15 +95,81 @@ public final class InterfaceConsole {
 
     /**
      * Méthode générant l'entièreté de l'affichage sur la console.
+     * <p>
+     * Seules les lignes ayant changé depuis le dernier affichage sont réécrites, en positionnant le curseur
+     * directement sur elles. Si l'état de l'exécution n'a pas changé depuis le dernier affichage, rien n'est fait.
      */
     public void actualiserConsole() {
+        int numLigneTraitee = interpreteur.getNumLigneTraitee();
+        String signature = interpreteur.getEtape() + ":" + numLigneTraitee + ":" + interpreteur.getTraceExecution().getTaille();
+        if (dernierEcran != null && signature.equals(derniereSignature)) {
+            return;
+        }
+
+        long debut = Metriques.debut();
+        String[] ecran = genererEcran(numLigneTraitee);
         StringBuilder str = new StringBuilder();
 
-        str.append("\033[H\033[2J");
+        if (dernierEcran == null || dernierEcran.length != ecran.length) {
+            str.append("\033[H\033[2J");
+            for (String ligne : ecran) {
+                str.append(ligne).append('\n');
+            }
+        } else {
+            for (int i = 0; i < ecran.length; i++) {
+                if (!ecran[i].equals(dernierEcran[i])) {
+                    str.append("\033[").append(i + 1).append(";1H").append(ecran[i]).append("\033[K");
+                }
+            }
+
+            str.append("\033[").append(ecran.length + 1).append(";1H");
+        }
+
+        str.append("\033[J");
+
+        dernierEcran = ecran;
+        derniereSignature = signature;
+
+        if (windowsUser) {
+            AnsiConsole.out.print(str);
+            AnsiConsole.out.flush();
+        } else {
+            System.out.print(str);
+            System.out.flush();
+        }
+
+        Metriques.duree("console.affichage", debut);
+    }
+
+    /**
+     * Indique si les numéros de ligne doivent être colorés selon le temps passé sur chaque ligne. N'a d'effet que si
+     * le profilage de l'interpréteur est activé.
+     *
+     * @param chaleur Vrai pour colorer les numéros de ligne.
+     */
+    public void setChaleur(boolean chaleur) {
+        this.chaleur = chaleur;
+    }
+
+    /**
+     * Force le prochain affichage à redessiner l'écran entier. À appeler lorsque du texte a été écrit sur la
+     * console en dehors de notre affichage (une question posée à l'utilisateur par exemple).
+     */
+    public void invalider() {
+        dernierEcran = null;
+    }
+
+    /**
+     * Génère les lignes de l'affichage, sans les écrire.
+     *
+     * @param numLigneTraitee Ligne en cours de traitement.
+     * @return Les lignes de l'écran, de haut en bas.
+     */
+    private String[] genererEcran(int numLigneTraitee) {
+        ArrayList<String> ecran = new ArrayList<>();
 
         String tirets = new String(new char[138]).replace('\0', '-');
 
-        int numLigneTraitee = interpreteur.getNumLigneTraitee();
         int debut = numLigneTraitee - 15;
         int fin = numLigneTraitee + 15;
 
@@ -80,13 +178,13 @@ public final class InterfaceConsole {
             fin = 30;
         }
 
-        if (fin > lignes.length) {
-            fin = lignes.length;
+        if (fin > lignes.size()) {
+            fin = lignes.size();
             debut = fin - 30 < 0 ? 0 : debut;
         }
 
-        if (numLigneTraitee > lignes.length - 15) {
-            fin = lignes.length;
+        if (numLigneTraitee > lignes.size() - 15) {
+            fin = lignes.size();
             debut = fin - 30;
 
             if (debut < 0) {
@@ -96,124 +194,103 @@ public final class InterfaceConsole {
         }
 
         //Affichage de l'en-tête
-        str.append("+" + tirets + "+\n");
-        str.append(String.format("|      | Code %80s | Trace des variables %21s |\n", " ", " "));
-        str.append("+" + tirets + "+\n");
+        ecran.add("+" + tirets + "+");
+        ecran.add(String.format("|      | Code %80s | Trace des variables %21s |", " ", " "));
+        ecran.add("+" + tirets + "+");
 
         //Affichage du code
         for (int i = debut; i < fin; i++) {
-            String ligne;
-            if (i < lignes.length) {
-                ligne = lignes[i];
-            } else {
-                ligne = " ";
-            }
-
-            ligne = ligne.replace("\t", "        ");
+            boolean horsProgramme = i >= lignes.size();
 
             if (i == numLigneTraitee) {
-                str.append(String.format(ANSI_BG_RED + "|  %02d  | %-85s |" + ANSI_RESET + " %-41s |\n", i + 1, ligne, getTraceVariable(i)));
+                String ligne = horsProgramme ? " " : lignesBrutes[i];
+                ecran.add(String.format(ANSI_BG_RED + "|  %02d  | %-85s |" + ANSI_RESET + " %-41s |", i + 1, ligne, getTraceVariable(i - debut, fin - debut)));
             } else {
-                ligne = colorie(String.format("%-85s", ligne));
-                str.append(String.format("|  %02d  | %-85s | %-41s |" + "\n", i + 1, ligne, getTraceVariable(i)));
+                String ligne = horsProgramme ? " " : lignesColoriees[i];
+                ecran.add(String.format("|  %s  | %-85s | %-41s |", numeroLigne(i), ligne, getTraceVariable(i - debut, fin - debut)));
             }
         }
 
-        str.append("+" + tirets + "+\n");
-        str.append("\n\n");
+        ecran.add("+" + tirets + "+");
+        ecran.add("");
+        ecran.add("");
 
-        str.append("+" + tirets + "+\n");
-        str.append(String.format("| Console %128s |\n", " "));
-        str.append("+" + tirets + "+\n");
-        str.append(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |\n", getTraceExecution(0)));
-        str.append(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |\n", getTraceExecution(1)));
-        str.append(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |\n", getTraceExecution(2)));
-        str.append("+" + tirets + "+\n");
+        ecran.add("+" + tirets + "+");
+        ecran.add(String.format("| Console %128s |", " "));
+        ecran.add("+" + tirets + "+");
+        ecran.add(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |", getTraceExecution(0)));
+        ecran.add(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |", getTraceExecution(1)));
+        ecran.add(String.format("| " + ANSI_YELLOW + " %-134s " + ANSI_RESET + " |", getTraceExecution(2)));
+        ecran.add("+" + tirets + "+");
 
-        if (windowsUser) {
-            AnsiConsole.out.println(str);
-        } else {
-            System.out.println(str);
-        }
+        return ecran.toArray(new String[0]);
     }
 
     /**
-     * Colorie la ligne donnée en paramètre en fonction de ses mots clef.
+     * Retourne le numéro de la ligne donnée, sur fond rouge si un point d'arrêt y est posé, sinon coloré selon le
+     * temps passé sur cette ligne si le profilage est affiché.
      *
-     * @param ligne Ligne à colorier.
-     * @return La ligne coloriée.
+     * @param i Ligne du programme.
      */
-    public String colorie(String ligne) {
-        String commentaire = "";
-        if (ligne.matches(".*//.*")) {
-            commentaire = ligne.substring(ligne.indexOf("//"));
-            ligne = ligne.substring(0, ligne.indexOf("//"));
-        }
-
-        commentaire = ANSI_GREEN + commentaire + ANSI_RESET;
-
-        String copie = ligne;
-
-        try {
-            copie = ligne.replaceAll("(\".*\")", ANSI_BLUE + "$1" + ANSI_RESET);
-        } catch (Exception e) {
-
+    private String numeroLigne(int i) {
+        String numero = String.format("%02d", i + 1);
+        if (interpreteur.getPointArret(i) != null) {
+            return ANSI_BG_RED + numero + ANSI_RESET;
         }
 
-        try {
-            ligne = ligne.replaceAll("([é\\w]+[\\s]*)\\(", ANSI_YELLOW + "$1" + ANSI_RESET + "(");
-        } catch (Exception e) {
-
+        Profileur profileur = interpreteur.getProfileur();
+        if (!chaleur || profileur == null) {
+            return numero;
         }
 
-        ligne = reformer(copie, ligne);
-
-        return ligne + commentaire;
+        String couleur = profileur.getCouleur(i);
+        return couleur == null ? numero : couleur + numero + ANSI_RESET;
     }
 
     /**
-     * Reforme correctement les couleurs de la chaîne afin de gérer les fonctions imbriquées
-     * en ignorant celles se trouvant à l'intérieur de guillemets.
+     * Colorie la ligne donnée en paramètre en fonction de ses mots clef.
      *
-     * @param copie Copie de notre chaîne, la couleur pour les guillemets y est appliquée.
-     * @param base  Base de notre chaîne, la couleur pour les fonctions y est appliquée.
-     * @return Un mélange de la base et de la copie, avec les couleur comme il le faut.
+     * @param ligne Ligne à colorier.
+     * @return La ligne coloriée.
      */
-    public String reformer(String copie, String base) {
-        String ret = "";
-
-        String[] copies = copie.split("\"");
-        String[] bases = base.split("\"");
-
-        for (int i = 0; i < copies.length; i++) {
-            if (i % 2 != 0) {
-                ret += ANSI_BLUE + "\"" + copies[i] + "\"" + ANSI_RESET;
-            } else {
-                ret += bases[i];
-            }
-        }
-
-        return ret;
+    public String colorie(String ligne) {
+        return Coloriseur.colorie(ligne);
     }
 
     /**
-     * Retourne la trace des variables en fonction de la ligne traitée. Cette méthode permet de correctement
-     * formater l'affichage dans notre console.
+     * Retourne la trace des variables pour la rangée d'affichage donnée. La première rangée contient l'en-tête,
+     * les suivantes les expressions espionnées, évaluées à ce moment seulement, puis les dernières entrées de la
+     * trace, de la plus ancienne à la plus récente. Cette méthode permet de correctement formater l'affichage dans
+     * notre console.
      *
-     * @param i Ligne en train d'être traitée.
+     * @param rang  Rangée de l'affichage.
+     * @param rangs Nombre de rangées affichées.
      * @return Le formattage de cette variable tracée.
      */
-    public String getTraceVariable(int i) {
-        if (i == 0) {
+    public String getTraceVariable(int rang, int rangs) {
+        if (rang == 0) {
             return "    NOM     |    TYPE    |     VALEUR    ";
-        } else {
-            Variable v = interpreteur.getVariableTracee(i);
-            if (v == null) {
-                return String.format("%-11s | %-10s | %-13s ", " ", " ", " ");
-            }
+        }
+
+        List<Espion> espions = interpreteur.getEspions();
+        int nombreEspions = Math.min(espions.size(), rangs - 1);
+        if (rang <= nombreEspions) {
+            Espion espion = espions.get(rang - 1);
+            return String.format("%-24.24s | %-13s ", espion.getTexte(), espion.getValeur());
+        }
 
-            return String.format("%-11s | %-10s | %-13s ", v.getNom(), v.getType(), v.getValeur());
+        rang -= nombreEspions;
+        rangs -= nombreEspions;
+
+        TraceVariables trace = interpreteur.getVariablesTracees();
+        int i = Math.max(0, trace.getTaille() - (rangs - 1)) + rang - 1;
+
+        Variable v = trace.getVariable(i);
+        if (v == null) {
+            return String.format("%-11s | %-10s | %-13s ", " ", " ", " ");
         }
+
+        return String.format("%-11s | %-10s | %-13s ", v.getNom(), v.getType(), trace.getValeur(i));
     }
 
     /**
@@ -222,16 +299,14 @@ public final class InterfaceConsole {
      * @param i 'i'ème dernière trace d'exécution.
      */
     public String getTraceExecution(int i) {
-        ArrayList<String> traceExecution = interpreteur.getTraceExecution();
+        TraceExecution traceExecution = interpreteur.getTraceExecution();
+        int taille = traceExecution.getTaille();
 
-        if (traceExecution.size() <= i) {
+        if (taille <= i) {
             return "";
         }
 
-        if (traceExecution.size() >= 3) {
-            return traceExecution.get(traceExecution.size() - (3 - i));
-        } else {
-            return traceExecution.get(i);
-        }
+        String message = traceExecution.get(taille >= 3 ? taille - (3 - i) : i);
+        return message == null ? "" : message;
     }
 }
\ No newline at end of file
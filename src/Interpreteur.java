@@ -1,5 +1,19 @@
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 
 /**
  * Classe principale. Elle contient les variables à tracer, les traces d'exécution
@@ -9,40 +23,157 @@ import java.util.Scanner;
  * @version 1.0 2018-12-20
  */
 public final class Interpreteur {
+    /**
+     * Nombre de lignes du rapport de profilage.
+     */
+    private static final int LIGNES_RAPPORT = 20;
+
+    /**
+     * Sortie d'erreur des diagnostics (erreurs de chargement, dépassements de budget, rapports), écrite en UTF-8
+     * comme la sortie des messages, quel que soit l'encodage de la plateforme.
+     */
+    private static final PrintStream ERREURS = sortieErreur();
+
     /**
      * Instance de notre lecteur. Nous permet de récuppérer les lignes de code nécessaires.
      */
     private Lecteur lecteur;
 
+    /**
+     * Programme analysé à partir des lignes du lecteur. Il est construit une seule fois, au chargement.
+     */
+    private Programme programme;
+
     /**
      * Instance de notre interface de type console.
      */
     private InterfaceConsole console;
 
     /**
-     * Scanner nous permettant de gérer l'entrée clavier.
+     * Scanner nous permettant de gérer l'entrée clavier, ou les valeurs lues par lire() en mode non interactif.
      */
     private Scanner scanner;
 
+    /**
+     * Indique si l'exécution se fait pas à pas avec affichage, ou d'une traite sans interaction.
+     */
+    private boolean interactif;
+
+    /**
+     * Sortie des messages écrits par ecrire() en mode non interactif.
+     */
+    private PrintWriter sortie;
+
     /**
      * Indique la ligne en cours de traitement/évaluation.
      */
     private int numLigneTraitee;
 
     /**
-     * Représente la liste des variables tracées.
+     * Nombre d'étapes (lignes) exécutées depuis le début du programme.
+     */
+    private long etape;
+
+    /**
+     * Instantanés de l'exécution, permettant de revenir en arrière.
+     */
+    private Historique historique;
+
+    /**
+     * Étape à laquelle chaque ligne a été exécutée pour la première fois, ou -1.
+     */
+    private long[] premiersPassages;
+
+    /**
+     * Saisies effectuées pour lire(), rejouées lors d'un retour en arrière.
+     */
+    private ArrayList<String> saisies;
+
+    /**
+     * Nombre de saisies consommées par lire() depuis le début du programme.
+     */
+    private int nombreSaisies;
+
+    /**
+     * Trace des variables : valeurs successives des variables tracées.
+     */
+    private TraceVariables variablesTracees;
+
+    /**
+     * Cadre d'exécution contenant la valeur de toutes les variables.
+     */
+    private Cadre cadre;
+
+    /**
+     * Table des symboles : les variables, indexées par nom et dans leur ordre de déclaration.
+     */
+    private TableSymboles variables;
+
+    /**
+     * Trace d'exécution affichée sur la console.
+     */
+    private TraceExecution traceExecution;
+
+    /**
+     * Contexte d'évaluation des expressions, propre à cet interpréteur.
+     */
+    private Scripting scripting;
+
+    /**
+     * Profileur mesurant le temps passé sur chaque ligne, ou null si le profilage n'est pas activé.
+     */
+    private Profileur profileur;
+
+    /**
+     * Points d'arrêt, indexés par ligne (null si la ligne n'en a pas).
+     */
+    private PointArret[] pointsArret;
+
+    /**
+     * Expressions espionnées, affichées dans le panneau des variables.
+     */
+    private List<Espion> espions;
+
+    /**
+     * Indique si la ligne en cours de traitement a été atteinte par le retour d'une boucle ('ftq'), et non depuis
+     * l'extérieur de la boucle.
+     */
+    private boolean bouclage;
+
+    /**
+     * Limites des exécutions sans surveillance.
+     */
+    private Budget budget;
+
+    /**
+     * Indique si une exécution sans surveillance est en cours, et si le budget doit donc être vérifié.
+     */
+    private boolean surveillance;
+
+    /**
+     * Instant du début de l'exécution sans surveillance en cours, en nanosecondes.
+     */
+    private long debutSurveillance;
+
+    /**
+     * Pour chaque 'tant que', l'étape à laquelle la boucle a été atteinte depuis l'extérieur pour la dernière fois.
      */
-    private ArrayList<Variable> variablesTracees;
+    private long[] etapesEntreeBoucles;
 
     /**
-     * Représente la liste des variables.
+     * Pour chaque 'tant que', l'instant (en nanosecondes) de la dernière entrée dans la boucle.
      */
-    private ArrayList<Variable> variables;
+    private long[] instantsEntreeBoucles;
 
     /**
-     * Représente la liste des traces d'exécutions sur la console.
+     * Pour chaque 'tant que', le nombre d'itérations depuis la dernière entrée dans la boucle.
      */
-    private ArrayList<String> traceExecution;
+    private long[] iterationsBoucles;
+
+    /**
+     * Dépassement de budget ayant interrompu la dernière exécution sans surveillance, ou null.
+     */
+    private DepassementBudget depassement;
 
     /**
      * Créé les différentes instances nécessaires au bon fonctionnement du programme.
@@ -50,109 +181,712 @@ public final class Interpreteur {
      * @param chemin Chemin vers le fichier à interprêter.
      */
     public Interpreteur(String chemin) {
+        this(chemin, true, true, System.in, System.out);
+    }
+
+    /**
+     * Créé un interpréteur non interactif : lire() consomme les lignes de l'entrée donnée et ecrire() écrit sur la
+     * sortie donnée, toutes deux encodées en UTF-8. Aucun affichage n'est effectué.
+     *
+     * @param chemin Chemin vers le fichier à interprêter.
+     * @param entree Entrée fournissant les valeurs lues par lire().
+     * @param sortie Sortie recevant les messages écrits par ecrire().
+     */
+    public Interpreteur(String chemin, InputStream entree, OutputStream sortie) {
+        this(chemin, false, false, entree, sortie);
+    }
+
+    /**
+     * Retourne la sortie d'erreur encodée en UTF-8. Les octets sont transmis tels quels à System.err, ce qui conserve
+     * l'ordre avec les traces des exceptions.
+     */
+    private static PrintStream sortieErreur() {
+        try {
+            return new PrintStream(System.err, true, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            return System.err;
+        }
+    }
+
+    /**
+     * Créé un interpréteur pas à pas piloté par un autre front-end que la console (le Serveur par exemple). Rien
+     * n'est affiché ni lu au clavier : l'appelant fait avancer l'exécution, fournit les valeurs lues par lire()
+     * avec ajouterSaisie et consulte l'état grâce aux accesseurs.
+     *
+     * @param chemin Chemin vers le fichier à interprêter.
+     * @return L'interpréteur, qui doit encore être préparé.
+     */
+    public static Interpreteur pilote(String chemin) {
+        return new Interpreteur(chemin, true, false, new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream());
+    }
+
+    /**
+     * Créé les différentes instances nécessaires au bon fonctionnement du programme.
+     *
+     * @param chemin      Chemin vers le fichier à interprêter.
+     * @param interactif  Indique si l'exécution se fait pas à pas.
+     * @param avecConsole Indique si l'exécution pas à pas est affichée et pilotée dans la console.
+     * @param entree      Entrée clavier, ou valeurs lues par lire(), encodée en UTF-8 comme le fichier source.
+     * @param sortie      Sortie des messages écrits par ecrire() en mode non interactif, encodés en UTF-8.
+     */
+    private Interpreteur(String chemin, boolean interactif, boolean avecConsole, InputStream entree,
+                         OutputStream sortie) {
+        this.interactif = interactif;
+
         lecteur = new Lecteur(chemin);
-        console = new InterfaceConsole(lecteur, this);
-        scanner = new Scanner(System.in);
+        lecteur.lire();
+        programme = Analyseur.analyse(lecteur.getLignes());
+        if (avecConsole) {
+            console = new InterfaceConsole(lecteur, this);
+        }
+
+        scanner = new Scanner(entree, StandardCharsets.UTF_8.name());
+        this.sortie = new PrintWriter(new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8)));
 
-        variablesTracees = new ArrayList<>();
-        variables = new ArrayList<>();
-        traceExecution = new ArrayList<>();
+        variables = new TableSymboles();
+        cadre = new Cadre();
+        configurerTraces(Trace.CAPACITE_DEFAUT, false);
 
         numLigneTraitee = 0;
+        etape = 0;
 
-        Scripting.setInterpreteur(this);
+        historique = new Historique();
+        premiersPassages = new long[programme.getNombreInstructions()];
+        Arrays.fill(premiersPassages, -1);
+        pointsArret = new PointArret[programme.getNombreInstructions()];
+        espions = new ArrayList<>();
+
+        budget = new Budget();
+        etapesEntreeBoucles = new long[programme.getNombreInstructions()];
+        instantsEntreeBoucles = new long[programme.getNombreInstructions()];
+        iterationsBoucles = new long[programme.getNombreInstructions()];
+        saisies = new ArrayList<>();
+        nombreSaisies = 0;
+
+        scripting = new Scripting(this);
+    }
+
+    /**
+     * Configure la taille des traces. Seules les 'capacite' dernières entrées de chaque trace sont conservées en
+     * mémoire ; les plus anciennes sont oubliées, ou écrites dans un fichier temporaire si 'surDisque' est vrai.
+     * Doit être appelée avant le démarrage de l'exécution.
+     *
+     * @param capacite  Nombre maximal d'entrées conservées en mémoire par trace.
+     * @param surDisque Indique si les entrées les plus anciennes sont conservées sur disque.
+     */
+    public void configurerTraces(int capacite, boolean surDisque) {
+        if (variablesTracees != null) {
+            variablesTracees.ferme();
+            traceExecution.ferme();
+        }
+
+        variablesTracees = new TraceVariables(variables, capacite, surDisque);
+        traceExecution = new TraceExecution(capacite, surDisque);
+    }
+
+    /**
+     * Configure les limites des exécutions sans surveillance : exécution d'une traite, 'continuer', fin de boucle
+     * et déplacement vers une ligne pas encore atteinte.
+     *
+     * @param budget Limites à appliquer.
+     */
+    public void configurerBudget(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Active le profilage : le nombre d'exécutions et le temps passé sont comptés pour chaque ligne et chaque
+     * fonction native. Doit être appelée avant le démarrage de l'exécution.
+     *
+     * @param chaleur Indique si les numéros de ligne de la console sont colorés selon le temps passé sur chaque ligne.
+     */
+    public void activerProfilage(boolean chaleur) {
+        profileur = new Profileur(programme.getNombreInstructions());
+        if (console != null) {
+            console.setChaleur(chaleur);
+        }
     }
 
     /**
      * Démarre la gestion de l'entrée clavier.
      */
     public void demarrer() {
-        creerVariables();
+        if (!preparer()) {
+            return;
+        }
+
         demanderTracage();
 
         while (true) {
-            if (numLigneTraitee >= lecteur.getLignes().length) {
+            if (numLigneTraitee >= programme.getNombreInstructions()) {
                 break;
             }
 
             console.actualiserConsole();
-            interprete(numLigneTraitee, false);
 
             String valeur = scanner.nextLine();
             if (valeur.equals("")) {
-                numLigneTraitee++;
+                pas();
             } else if (valeur.toLowerCase().equals("b")) {
-                numLigneTraitee--;
-
-                if (numLigneTraitee < 0) {
-                    numLigneTraitee = 0;
-                }
-
-                reinitialiser(numLigneTraitee);
+                revenirA(etape - 1);
             } else if (valeur.toLowerCase().startsWith("l")) {
-                numLigneTraitee = Integer.valueOf(valeur.substring(1)) - 1;
-                reinitialiser(numLigneTraitee);
+                allerALigne(Integer.valueOf(valeur.substring(1)) - 1);
+            } else if (valeur.toLowerCase().equals("c")) {
+                continuer();
+            } else if (valeur.toLowerCase().equals("f")) {
+                finirBoucle();
+            } else if (valeur.toLowerCase().startsWith("p")) {
+                basculerPointArret(valeur.substring(1).trim());
+            } else if (valeur.toLowerCase().startsWith("e ")) {
+                basculerEspion(valeur.substring(2).trim());
             } else if (valeur.toLowerCase().equals("q")) {
                 break;
             }
 
             if (!valeur.equals("")) {
-                traceExecution.add(valeur);
+                traceExecution.ajoute(valeur);
             }
         }
+
+        variablesTracees.ferme();
+        traceExecution.ferme();
     }
 
     /**
-     * Effectue une réinterprêtation du code de la première jusqu'à la ligne i.
-     * @param i Ligne à laquelle nous devons nous arrêter.
+     * Prépare l'exécution pas à pas : vérifie la structure du programme, crée les variables, compile les
+     * expressions et enregistre l'état initial.
+     *
+     * @return Faux si le programme ne peut pas être exécuté à cause d'erreurs de structure.
      */
-    public void reinitialiser(int i) {
-        this.variablesTracees.clear();
-        Scripting.reset();
+    public boolean preparer() {
+        if (!verifierStructure()) {
+            return false;
+        }
 
-        for (Variable v : variables) {
-            v.setValeurDefaut();
+        int avant = programme.getErreurs().size();
+        creerVariables();
+        if (!verifierDeclarations(avant)) {
+            return false;
         }
 
-        int x;
-        for (x = 0; x < i; x++) {
-            numLigneTraitee = x;
-            if (!interprete(x, true)) {
-                break;
+        compiler();
+
+        historique.enregistre(capture());
+        return true;
+    }
+
+    /**
+     * Exécute le programme d'une traite, du début à la fin, sans affichage ni attente entre les lignes.
+     *
+     * @return Faux si le programme n'a pas pu être exécuté à cause d'erreurs de structure, ou s'il a été interrompu
+     * pour avoir dépassé son budget.
+     */
+    public boolean executer() {
+        return executer(false);
+    }
+
+    /**
+     * Exécute le programme d'une traite, du début à la fin, sans affichage ni attente entre les lignes. Si
+     * 'compile' est vrai, le programme est d'abord compilé en une classe Java (voir Compilateur), dont la sortie
+     * est identique ; s'il ne peut pas l'être, il est interprêté.
+     *
+     * @param compile Indique si le programme est compilé plutôt qu'interprêté.
+     * @return Faux si le programme n'a pas pu être exécuté à cause d'erreurs de structure, ou s'il a été interrompu
+     * pour avoir dépassé son budget.
+     */
+    public boolean executer(boolean compile) {
+        if (!verifierStructure()) {
+            return false;
+        }
+
+        int avant = programme.getErreurs().size();
+        creerVariables();
+        if (!verifierDeclarations(avant)) {
+            return false;
+        }
+
+        compiler();
+
+        Compilateur compilateur = compile ? Compilateur.compile(programme, getVariables(), budget) : null;
+        boolean termine = sousBudget(() -> {
+            if (compilateur != null) {
+                compilateur.execute(environnement());
+                numLigneTraitee = programme.getNombreInstructions();
+            }
+
+            while (numLigneTraitee < programme.getNombreInstructions()) {
+                pas();
+            }
+        });
+
+        sortie.flush();
+        return termine;
+    }
+
+    /**
+     * Retourne les services de cet interpréteur utilisés par un programme compilé.
+     */
+    private Compilateur.Environnement environnement() {
+        return new Compilateur.Environnement() {
+            @Override
+            public void ecrire(Object message) {
+                Interpreteur.this.ecrire(message);
             }
+
+            @Override
+            public void lire(Variable variable, int ligne) {
+                Interpreteur.this.lire(variable, ligne);
+            }
+
+            @Override
+            public void verifie(int boucle, long iterations, long etape, long etapeEntree, long entree) {
+                budget.verifie(boucle, iterations, etape, etapeEntree, debutSurveillance, entree);
+            }
+        };
+    }
+
+    /**
+     * Affiche les erreurs de structure du programme, s'il y en a.
+     *
+     * @return Vrai si le programme peut être exécuté.
+     */
+    private boolean verifierStructure() {
+        for (String erreur : programme.getErreurs()) {
+            ERREURS.println(erreur);
         }
 
-        numLigneTraitee = x;
-        console.actualiserConsole();
+        return programme.getErreurs().isEmpty();
     }
 
     /**
-     * Lis le code une première fois afin de lire les variables et constantes déclarées.
+     * Vérifie que les variables utilisées par le programme ont été déclarées, et affiche les erreurs sinon, ainsi que
+     * celles relevées à la création des variables. Doit être appelée après la création des variables.
      *
-     * @return Retourne un booleen pour bloquer la méthode.
+     * @param avant Nombre d'erreurs du programme avant la création des variables.
+     * @return Vrai si toutes les variables utilisées sont déclarées, une seule fois chacune.
      */
-    public boolean creerVariables() {
-        String lignes[] = lecteur.getLignes();
+    private boolean verifierDeclarations(int avant) {
+        Optimiseur.verifie(programme, variables);
 
-        for (String ligne : lignes) {
-            ligne = ligne.replace("\t", "");
+        List<String> erreurs = programme.getErreurs();
+        for (int i = avant; i < erreurs.size(); i++) {
+            ERREURS.println(erreurs.get(i));
+        }
 
-            if (ligne.equals("DEBUT")) {
-                break;
+        return erreurs.size() == avant;
+    }
+
+    /**
+     * Exécute la ligne en cours de traitement et passe à la suivante. En mode interactif, un instantané de l'état
+     * est conservé régulièrement afin de pouvoir revenir en arrière rapidement.
+     */
+    public void pas() {
+        if (interactif && (premiersPassages[numLigneTraitee] < 0 || premiersPassages[numLigneTraitee] > etape)) {
+            premiersPassages[numLigneTraitee] = etape;
+        }
+
+        numLigneTraitee = interprete(numLigneTraitee);
+        etape++;
+
+        if (interactif && historique.doitEnregistrer(etape)) {
+            historique.enregistre(capture());
+        }
+    }
+
+    /**
+     * Revient à l'étape donnée : l'instantané le plus proche est restauré, puis seules les étapes manquantes sont
+     * réinterprêtées, sans affichage.
+     *
+     * @param cible Étape à laquelle revenir.
+     */
+    public void revenirA(long cible) {
+        if (cible < 0) {
+            cible = 0;
+        }
+
+        Instantane instantane = historique.plusProche(cible);
+        if (instantane == null) {
+            return;
+        }
+
+        long debut = Metriques.debut();
+
+        restaure(instantane);
+
+        if (profileur != null) {
+            profileur.setActif(false);
+        }
+
+        try {
+            while (etape < cible && numLigneTraitee < programme.getNombreInstructions()) {
+                pas();
+            }
+        } finally {
+            if (profileur != null) {
+                profileur.setActif(true);
             }
+        }
+
+        historique.tronque(etape);
+        while (saisies.size() > nombreSaisies) {
+            saisies.remove(saisies.size() - 1);
+        }
 
-            if (ligne.matches(" *(\\w+) *: *(\\w+)")) {
-                String[] vals = ligne.replace(" ", "").split(":");
-                variables.add(new Variable(vals[0], vals[1]));
-            } else if (ligne.replace("\t", "").matches(" *(\\w+) *<-- *(\\w+)")) {
-                String[] vals = ligne.split("<--");
-                variables.add(new Variable(vals[0].replace(" ", ""), determineType(vals[1].trim()), vals[1].trim()));
+        Metriques.duree("interpreteur.retour", debut);
+    }
+
+    /**
+     * Se place juste avant la première exécution de la ligne donnée. Si la ligne a déjà été atteinte, on y revient
+     * grâce aux instantanés ; sinon l'exécution avance, sans affichage, jusqu'à l'atteindre.
+     *
+     * @param ligne Ligne à atteindre.
+     */
+    public void allerALigne(int ligne) {
+        if (ligne < 0 || ligne >= programme.getNombreInstructions()) {
+            return;
+        }
+
+        long passage = premiersPassages[ligne];
+        if (passage >= 0 && passage <= etape) {
+            revenirA(passage);
+            return;
+        }
+
+        sousBudget(() -> {
+            while (numLigneTraitee != ligne && !estTermine() && !attendSaisie()) {
+                pas();
             }
+        });
+    }
+
+    /**
+     * Exécute le programme à pleine vitesse, sans affichage, jusqu'au prochain point d'arrêt déclenché. La ligne
+     * en cours est toujours exécutée, afin de pouvoir repartir d'un point d'arrêt. L'exécution s'arrête aussi à la
+     * fin du programme, ou sur un lire() dont la valeur n'a pas encore été fournie.
+     *
+     * @return Vrai si l'exécution s'est arrêtée sur un point d'arrêt.
+     */
+    public boolean continuer() {
+        if (estTermine() || attendSaisie()) {
+            return false;
         }
 
+        boolean[] arrete = {false};
+        sousBudget(() -> {
+            pas();
+            while (!estTermine() && !attendSaisie()) {
+                PointArret point = pointsArret[numLigneTraitee];
+                if (point != null && point.estDeclenche(scripting)) {
+                    arrete[0] = true;
+                    return;
+                }
+
+                pas();
+            }
+        });
+
+        return arrete[0];
+    }
+
+    /**
+     * Termine, sans affichage ni attente, la boucle la plus intérieure contenant la ligne en cours : l'exécution
+     * continue jusqu'à sortir de la boucle. Elle s'arrête aussi à la fin du programme, sur un lire() dont la valeur
+     * n'a pas encore été fournie, ou si le budget est dépassé.
+     *
+     * @return Vrai si la boucle a été terminée.
+     */
+    public boolean finirBoucle() {
+        if (estTermine() || programme.getBoucle(numLigneTraitee) < 0) {
+            return false;
+        }
+
+        int debut = programme.getBoucle(numLigneTraitee);
+        int fin = programme.getCorrespondance(debut);
+        boolean[] terminee = {false};
+        sousBudget(() -> {
+            do {
+                pas();
+            } while (!estTermine() && !attendSaisie() && numLigneTraitee >= debut && numLigneTraitee <= fin);
+
+            terminee[0] = numLigneTraitee < debut || numLigneTraitee > fin;
+        });
+
+        return terminee[0];
+    }
+
+    /**
+     * Effectue une exécution sans surveillance en vérifiant le budget à chaque retour de boucle. Un dépassement
+     * interrompt l'exécution proprement : il est conservé, puis signalé dans la trace d'exécution en mode
+     * interactif, sur la sortie d'erreur sinon.
+     *
+     * @param execution Exécution à effectuer.
+     * @return Faux si l'exécution a été interrompue par un dépassement de budget.
+     */
+    private boolean sousBudget(Runnable execution) {
+        depassement = null;
+        surveillance = budget.estLimite();
+        debutSurveillance = System.nanoTime();
+
+        try {
+            execution.run();
+            return true;
+        } catch (DepassementBudget e) {
+            depassement = e;
+            if (interactif) {
+                traceExecution.ajoute(e.getMessage());
+            } else {
+                ERREURS.println(e.getMessage());
+            }
+
+            return false;
+        } finally {
+            surveillance = false;
+        }
+    }
+
+    /**
+     * Pose un point d'arrêt sur la ligne donnée, en remplacement de celui qui s'y trouve éventuellement. La
+     * condition est compilée et vérifiée immédiatement ; les variables doivent donc déjà avoir été créées. Une
+     * condition que notre analyseur ne reconnaît pas est refusée plutôt que confiée à BeanShell : elle serait sinon
+     * réévaluée, en échec, à chaque passage sur la ligne.
+     *
+     * @param ligne     Ligne du point d'arrêt (à partir de 0).
+     * @param condition Condition en pseudo-code, ou null (ou vide) pour un point d'arrêt inconditionnel.
+     * @return Le point d'arrêt posé, ou null si la ligne n'existe pas.
+     * @throws IllegalArgumentException Si la condition est mal formée, utilise une variable non déclarée ou n'est
+     *                                  pas booléenne ; le point d'arrêt existant est alors conservé.
+     */
+    public PointArret ajouterPointArret(int ligne, String condition) {
+        if (ligne < 0 || ligne >= programme.getNombreInstructions()) {
+            return null;
+        }
+
+        if (condition == null || condition.trim().isEmpty()) {
+            pointsArret[ligne] = new PointArret(ligne, null, null);
+        } else {
+            String texte = condition.trim();
+            pointsArret[ligne] = new PointArret(ligne, texte, compileCondition(texte));
+        }
+
+        return pointsArret[ligne];
+    }
+
+    /**
+     * Compile la condition d'un point d'arrêt, sans recours à BeanShell.
+     *
+     * @param texte Condition en pseudo-code.
+     * @return La condition compilée.
+     * @throws IllegalArgumentException Si la condition est invalide.
+     */
+    private Expression compileCondition(String texte) {
+        Set<String> inconnues = Optimiseur.verifie(texte, variables);
+        if (!inconnues.isEmpty()) {
+            throw new IllegalArgumentException("Condition invalide : variable '" + inconnues.iterator().next()
+                    + "' non déclarée.");
+        }
+
+        Expression expression;
+        try {
+            expression = AnalyseurExpression.compile(Analyseur.expression(texte), this);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Condition invalide : " + e.getMessage(), e);
+        }
+
+        if (expression.getType() != Variable.Type.BOOLEEN && expression.getType() != Variable.Type.AUTRE) {
+            throw new IllegalArgumentException("Condition invalide : " + texte + " n'est pas booléenne.");
+        }
+
+        return expression;
+    }
+
+    /**
+     * Retire le point d'arrêt de la ligne donnée.
+     *
+     * @param ligne Ligne du point d'arrêt (à partir de 0).
+     * @return Vrai si un point d'arrêt a été retiré.
+     */
+    public boolean retirerPointArret(int ligne) {
+        if (ligne < 0 || ligne >= programme.getNombreInstructions() || pointsArret[ligne] == null) {
+            return false;
+        }
+
+        pointsArret[ligne] = null;
         return true;
     }
 
+    /**
+     * Traite la commande de point d'arrêt de la console : {@code pN} pose ou retire un point d'arrêt sur la ligne
+     * N, {@code pN condition} pose un point d'arrêt conditionnel.
+     *
+     * @param argument Texte suivant la commande.
+     */
+    private void basculerPointArret(String argument) {
+        int espace = argument.indexOf(' ');
+        String numero = espace < 0 ? argument : argument.substring(0, espace);
+        String condition = espace < 0 ? "" : argument.substring(espace + 1).trim();
+
+        int ligne;
+        try {
+            ligne = Integer.parseInt(numero) - 1;
+        } catch (NumberFormatException e) {
+            traceExecution.ajoute("Numéro de ligne invalide : " + numero);
+            return;
+        }
+
+        if (condition.isEmpty() && retirerPointArret(ligne)) {
+            return;
+        }
+
+        try {
+            if (ajouterPointArret(ligne, condition) == null) {
+                traceExecution.ajoute("Ligne inexistante : " + numero);
+            }
+        } catch (IllegalArgumentException e) {
+            traceExecution.ajoute(e.getMessage());
+        }
+    }
+
+    /**
+     * Ajoute une expression espionnée. L'expression est compilée immédiatement mais ne sera évaluée qu'à
+     * l'affichage ; les variables doivent donc déjà avoir été créées.
+     *
+     * @param texte Expression en pseudo-code.
+     * @return L'espion ajouté.
+     */
+    public Espion ajouterEspion(String texte) {
+        Espion espion = new Espion(texte.trim(), scripting, variables);
+        espions.add(espion);
+        return espion;
+    }
+
+    /**
+     * Retire l'expression espionnée de texte donné.
+     *
+     * @param texte Expression en pseudo-code.
+     * @return Vrai si un espion a été retiré.
+     */
+    public boolean retirerEspion(String texte) {
+        String cherche = texte.trim();
+        for (int i = 0; i < espions.size(); i++) {
+            if (espions.get(i).getTexte().equals(cherche)) {
+                espions.remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Ajoute l'expression espionnée donnée, ou la retire si elle l'est déjà.
+     *
+     * @param texte Expression en pseudo-code.
+     */
+    public void basculerEspion(String texte) {
+        if (!texte.trim().isEmpty() && !retirerEspion(texte)) {
+            ajouterEspion(texte);
+        }
+    }
+
+    /**
+     * Capture l'état d'exécution courant.
+     */
+    private Instantane capture() {
+        Metriques.valeur("trace.execution.taille", traceExecution.getTaille());
+        Metriques.valeur("trace.variables.taille", variablesTracees.getTaille());
+
+        return new Instantane(etape, numLigneTraitee, cadre.copie(), traceExecution.getTaille(),
+                variablesTracees.getTaille(), nombreSaisies);
+    }
+
+    /**
+     * Restaure l'état d'exécution capturé dans l'instantané donné.
+     *
+     * @param instantane Instantané à restaurer.
+     */
+    private void restaure(Instantane instantane) {
+        cadre.restaure(instantane.getCadre());
+
+        traceExecution.tronque(instantane.getTailleTraceExecution());
+        variablesTracees.tronque(instantane.getTailleVariablesTracees());
+
+        etape = instantane.getEtape();
+        numLigneTraitee = instantane.getNumLigneTraitee();
+        nombreSaisies = instantane.getNombreSaisies();
+
+        bouclage = false;
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            programme.getInstruction(i).invalideInvariants();
+        }
+    }
+
+    /**
+     * Parcourt les déclarations du programme afin de créer les variables et constantes déclarées. Un nom déclaré
+     * plusieurs fois est signalé comme une erreur du programme, et seule sa première déclaration est créée.
+     *
+     * @return Faux si un nom est déclaré plusieurs fois.
+     */
+    public boolean creerVariables() {
+        boolean valide = true;
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            Instruction instruction = programme.getInstruction(i);
+
+            if (instruction.getNature() == Instruction.Nature.DEBUT) {
+                break;
+            }
+
+            boolean declaration = instruction.getNature() == Instruction.Nature.DECLARATION
+                    || instruction.getNature() == Instruction.Nature.CONSTANTE;
+            if (declaration && variables.cherche(instruction.getNom()) != null) {
+                programme.signale(i, "'" + instruction.getNom() + "' est déjà déclaré.");
+                valide = false;
+                continue;
+            }
+
+            if (instruction.getNature() == Instruction.Nature.DECLARATION) {
+                variables.ajoute(new Variable(instruction.getNom(), instruction.getType(), cadre));
+            } else if (instruction.getNature() == Instruction.Nature.CONSTANTE) {
+                String valeur = instruction.getExpression();
+                Object contenu = scripting.calcule(scripting.compile(valeur));
+                variables.ajoute(new Variable(instruction.getNom(), determineType(valeur), contenu, cadre));
+            }
+        }
+
+        return valide;
+    }
+
+    /**
+     * Compile une fois pour toutes les expressions des instructions du programme, et résout les variables
+     * qu'elles affectent ou lisent, puis optimise le programme. Doit être appelée après la création des variables,
+     * afin que les instructions puissent y faire directement référence.
+     */
+    public void compiler() {
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            Instruction instruction = programme.getInstruction(i);
+
+            switch (instruction.getNature()) {
+                case AFFECTATION:
+                    instruction.setVariable(variables.cherche(instruction.getNom()));
+                    instruction.setCompilee(scripting.compile(instruction.getExpression()));
+                    break;
+                case LIRE:
+                    instruction.setVariable(variables.cherche(instruction.getNom()));
+                    break;
+                case SI:
+                case TANT_QUE:
+                    instruction.setCompilee(scripting.compile(instruction.getExpression()));
+                    break;
+                case ECRIRE:
+                    instruction.setCompilee(scripting.compileEcriture(instruction.getArguments()));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        Optimiseur.optimise(programme);
+    }
+
     /**
      * Détermine le type de la variable constante.
      * @param valeur Valeur donnée à une constante.
@@ -180,7 +914,7 @@ public final class Interpreteur {
      * Demande pour chaque variable si on souhaite qu'elle soit tracée.
      */
     public void demanderTracage() {
-        for (Variable var : variables) {
+        for (Variable var : variables.getVariables()) {
             if (var.estConstante()) {
                 continue;
             }
@@ -197,114 +931,225 @@ public final class Interpreteur {
 
     /**
      * Interprête la ligne à l'index donné.
+     *
      * @param i Ligne à interprêter.
+     * @return La prochaine ligne à interprêter.
      */
-    public boolean interprete(int i, boolean reset) {
-        String ligne = lecteur.getLignes()[i].replace("\t", "");
-        console.actualiserConsole();
+    public int interprete(int i) {
+        if (profileur == null || !profileur.estActif()) {
+            return execute(i);
+        }
 
-        //assignation de variable.
-        if (ligne.matches(" *(\\w+) *<-- .*")) {
-            String[] separation = ligne.split("<--");
+        long debut = System.nanoTime();
+        int suivante = execute(i);
+        profileur.enregistre(i, System.nanoTime() - debut);
+        return suivante;
+    }
 
-            Variable v = getVariableParNom(separation[0].trim());
-            if (v == null) {
-                return false;
-            }
+    /**
+     * Exécute l'instruction de la ligne à l'index donné.
+     *
+     * @param i Ligne à exécuter.
+     * @return La prochaine ligne à interprêter.
+     */
+    private int execute(int i) {
+        Instruction instruction = programme.getInstruction(i);
 
-            v.setValeur(separation[1]);
+        switch (instruction.getNature()) {
+            case AFFECTATION: {
+                Variable v = instruction.getVariable();
+                if (v == null) {
+                    break;
+                }
 
-            if (v.estTracee()) {
-                variablesTracees.add(new Variable(v));
-            }
-        } else if (ligne.matches(" *[é\\w]+\\(.*\\)")) {
-            try {
-                String nomFonction = ligne.split("\\(")[0];
-                switch (nomFonction) {
-                    case "ecrire":
-                    case "écrire":
-                        String resultat = Scripting.execute(ligne.replace(",", "+")).toString();
-                        traceExecution.add("ecrire() => " + resultat);
-                        break;
-                    case "lire":
-                        Variable var = getVariableParNom(ligne.substring(ligne.indexOf("(") + 1, ligne.indexOf(")")));
-                        if (var == null) {
-                            throw new Exception("Variable introuvable.");
-                        }
-
-                        System.out.println("Entrez une valeur pour la variable " + var.getNom() + " de type " + var.getType() + " : ");
-                        String entree = scanner.nextLine();
-                        
-                        var.setValeur(entree);
-                        traceExecution.add("lire() => " + var.getValeur());
-
-                        if (var.estTracee()) {
-                            variablesTracees.add(var);
-                        }
-                        break;
+                try {
+                    v.affecte(instruction.getCompilee());
+                } catch (Exception e) {
+                    e.printStackTrace();
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        } else if (ligne.contains("si ") && ligne.endsWith(" alors")) { //condition si alors
-            if (reset) {
-                return false;
+
+                if (v.estTracee()) {
+                    variablesTracees.ajoute(v, i);
+                }
+                break;
             }
+            case ECRIRE:
+                ecrire(scripting.calcule(instruction.getCompilee()));
+                break;
+            case LIRE:
+                lire(instruction.getVariable(), i);
+                break;
+            case SI:
+                if (!scripting.evalue(instruction.getCompilee())) {
+                    return apres(programme.getCorrespondance(i));
+                }
+                break;
+            case SINON:
+            case SAUT:
+                return apres(programme.getCorrespondance(i));
+            case TANT_QUE:
+                if (!bouclage) {
+                    instruction.invalideInvariants();
+                    etapesEntreeBoucles[i] = etape;
+                    iterationsBoucles[i] = 0;
+                    if (budget.limiteDuree()) {
+                        instantsEntreeBoucles[i] = System.nanoTime();
+                    }
+                }
 
-            String condition = ligne.substring(ligne.indexOf("si ") + 3, ligne.lastIndexOf(" alors")).replace(" ou ", "||").replace(" et ", "&&");
+                bouclage = false;
+                if (!scripting.evalue(instruction.getCompilee())) {
+                    return apres(programme.getCorrespondance(i));
+                }
+                break;
+            case FTQ: {
+                int debut = programme.getCorrespondance(i);
+                if (debut >= 0) {
+                    iterationsBoucles[debut]++;
+                    if (surveillance) {
+                        budget.verifie(debut, iterationsBoucles[debut], etape, etapesEntreeBoucles[debut],
+                                debutSurveillance, instantsEntreeBoucles[debut]);
+                    }
 
-            if (Scripting.evalue(condition)) {
-                String contenu;
-                do {
-                    numLigneTraitee++;
-                    interprete(numLigneTraitee, false);
+                    bouclage = true;
+                    return debut;
+                }
+                break;
+            }
+            default:
+                break;
+        }
 
-                    console.actualiserConsole();
-                    scanner.nextLine();
+        return i + 1;
+    }
 
-                    contenu = lecteur.getLignes()[numLigneTraitee].replace("\t", "");
-                } while (!contenu.equals("sinon") && !contenu.equals("fsi"));
+    /**
+     * Écrit le message d'un ecrire() : dans la trace d'exécution en mode interactif, sur la sortie sinon. Un
+     * message null (calcul en erreur) n'est pas écrit.
+     *
+     * @param resultat Message à écrire.
+     */
+    private void ecrire(Object resultat) {
+        if (resultat == null) {
+            return;
+        }
 
-                if (contenu.equals("sinon")) {
-                    do {
-                        numLigneTraitee++;
+        if (interactif) {
+            traceExecution.ajoute("ecrire() => " + resultat);
+        } else {
+            sortie.println(resultat);
+        }
+    }
 
-                        console.actualiserConsole();
+    /**
+     * Effectue un lire() : la saisie est convertie selon le type de la variable, puis tracée.
+     *
+     * @param var Variable lue.
+     * @param i   Ligne du lire().
+     */
+    private void lire(Variable var, int i) {
+        try {
+            if (var == null) {
+                throw new Exception("Variable introuvable.");
+            }
 
-                        contenu = lecteur.getLignes()[numLigneTraitee].replace("\t", "");
-                    } while(!contenu.equals("fsi"));
-                }
+            String saisie = lireSaisie(var);
 
-                console.actualiserConsole();
-            } else {
-                String contenu;
-                do {
-                    numLigneTraitee++;
-                    contenu = lecteur.getLignes()[numLigneTraitee].replace("\t", "");
-                    console.actualiserConsole();
-                } while (!contenu.equals("sinon"));
+            long debut = Metriques.debut();
+            var.lis(saisie, scripting);
+            Metriques.duree("lire.conversion", debut);
+            if (interactif) {
+                traceExecution.ajoute("lire() => " + var.getValeur());
             }
-        } else if (ligne.contains("tant que ") && ligne.endsWith(" faire")) {
-            String condition = ligne.substring(ligne.indexOf("tant que ") + 9, ligne.lastIndexOf(" faire")).replace(" ou ", "||").replace(" et ", "&&");
-            int baseLigne = numLigneTraitee;
-            while (Scripting.evalue(condition)) {
-                do {
-                    numLigneTraitee++;
-                    interprete(numLigneTraitee, false);
-                    console.actualiserConsole();
-                    scanner.nextLine();
-                } while (!lecteur.getLignes()[numLigneTraitee].contains("ftq"));
-
-                numLigneTraitee = baseLigne;
+
+            if (var.estTracee()) {
+                variablesTracees.ajoute(var, i);
             }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 
-            do {
-                numLigneTraitee++;
-            } while (!lecteur.getLignes()[numLigneTraitee].contains("ftq"));
+    /**
+     * Retourne la ligne suivant la ligne donnée, ou la fin du programme si la ligne n'existe pas (bloc non fermé).
+     *
+     * @param ligne Ligne dont on veut la suivante.
+     */
+    private int apres(int ligne) {
+        return ligne < 0 ? programme.getNombreInstructions() : ligne + 1;
+    }
+
+    /**
+     * Retourne la saisie destinée à lire(). Lors d'une réinterprêtation, les saisies déjà effectuées sont rejouées
+     * plutôt que redemandées.
+     *
+     * @param var Variable lue.
+     * @return Le texte saisi.
+     * @throws Exception Si aucune entrée n'est disponible en mode non interactif.
+     */
+    private String lireSaisie(Variable var) throws Exception {
+        if (nombreSaisies < saisies.size()) {
+            return saisies.get(nombreSaisies++);
         }
 
-        console.actualiserConsole();
-        return true;
+        if (console != null) {
+            System.out.println("Entrez une valeur pour la variable " + var.getNom() + " de type " + var.getType() + " : ");
+        } else if (interactif || !scanner.hasNextLine()) {
+            throw new Exception("Aucune entrée disponible pour la variable " + var.getNom() + ".");
+        }
+
+        long debut = Metriques.debut();
+        String entree = scanner.nextLine();
+        Metriques.duree("lire.attente", debut);
+        if (interactif) {
+            console.invalider();
+            saisies.add(entree);
+            nombreSaisies++;
+        }
+
+        return entree;
+    }
+
+    /**
+     * Ajoute une valeur à celles qui seront lues par les prochains appels à lire(). Sert aux front-ends autres que
+     * la console, qui ne peuvent pas être interrogés au moment de la lecture.
+     *
+     * @param saisie Valeur saisie.
+     */
+    public void ajouterSaisie(String saisie) {
+        saisies.add(saisie);
+    }
+
+    /**
+     * Indique si l'exécution est bloquée sur un lire() dont la valeur n'a pas encore été fournie par ajouterSaisie.
+     * Toujours faux lorsque la valeur peut être demandée directement, à la console ou sur l'entrée.
+     */
+    public boolean attendSaisie() {
+        return interactif && console == null && !estTermine()
+                && programme.getInstruction(numLigneTraitee).getNature() == Instruction.Nature.LIRE
+                && nombreSaisies >= saisies.size();
+    }
+
+    /**
+     * Indique si l'exécution a atteint la fin du programme.
+     */
+    public boolean estTermine() {
+        return numLigneTraitee >= programme.getNombreInstructions();
+    }
+
+    /**
+     * Retourne le dépassement de budget ayant interrompu la dernière exécution sans surveillance, ou null si elle
+     * s'est déroulée normalement.
+     */
+    public DepassementBudget getDepassement() {
+        return this.depassement;
+    }
+
+    /**
+     * Retourne les erreurs de structure du programme.
+     */
+    public List<String> getErreurs() {
+        return programme.getErreurs();
     }
 
     /**
@@ -312,13 +1157,14 @@ public final class Interpreteur {
      * @param nom Nom de la variable à chercher.
      */
     public Variable getVariableParNom(String nom) {
-        for (Variable v : variables) {
-            if (v.getNom().equals(nom)) {
-                return v;
-            }
-        }
+        return variables.cherche(nom);
+    }
 
-        return null;
+    /**
+     * Retourne la liste des variables déclarées.
+     */
+    public List<Variable> getVariables() {
+        return this.variables.getVariables();
     }
 
     /**
@@ -329,34 +1175,188 @@ public final class Interpreteur {
     }
 
     /**
-     * Retourne la 'i'ème variable tracée.
+     * Retourne le nombre d'étapes exécutées depuis le début du programme.
+     */
+    public long getEtape() {
+        return etape;
+    }
+
+    /**
+     * Retourne le point d'arrêt de la ligne donnée, ou null si elle n'en a pas.
      *
-     * @param i Index représentant la variable tracée à retourner.
-     * @return
+     * @param ligne Ligne du programme (à partir de 0).
      */
-    public Variable getVariableTracee(int i) {
-        i--;
+    public PointArret getPointArret(int ligne) {
+        return ligne >= 0 && ligne < pointsArret.length ? pointsArret[ligne] : null;
+    }
 
-        if (variablesTracees.size() <= i) {
-            return null;
+    /**
+     * Retourne les points d'arrêt posés, dans l'ordre des lignes.
+     */
+    public List<PointArret> getPointsArret() {
+        List<PointArret> points = new ArrayList<>();
+        for (PointArret point : pointsArret) {
+            if (point != null) {
+                points.add(point);
+            }
         }
 
-        return variablesTracees.get(i);
+        return points;
+    }
+
+    /**
+     * Retourne les expressions espionnées, dans leur ordre d'ajout.
+     */
+    public List<Espion> getEspions() {
+        return this.espions;
+    }
+
+    /**
+     * Retourne la trace des variables.
+     */
+    public TraceVariables getVariablesTracees() {
+        return this.variablesTracees;
+    }
+
+    /**
+     * Retourne le profileur, ou null si le profilage n'est pas activé.
+     */
+    public Profileur getProfileur() {
+        return this.profileur;
+    }
+
+    /**
+     * Retourne les lignes du programme.
+     */
+    public List<String> getLignes() {
+        return lecteur.getLignes();
+    }
+
+    /**
+     * Retourne le contexte d'évaluation des expressions de cet interpréteur.
+     */
+    public Scripting getScripting() {
+        return this.scripting;
     }
 
     /**
      * Retourne notre trace d'exécution.
      */
-    public ArrayList<String> getTraceExecution() {
+    public TraceExecution getTraceExecution() {
         return this.traceExecution;
     }
 
     /**
      * Initialise le programme.
+     * <p>
+     * Utilisation : {@code Interpreteur [-b | -c] [-e entrees.txt] [-t capacite] [-d] [-p | -h] [-m] [-n etapes]
+     * [-w ms] [-nb etapes] [-wb ms] [algo.txt]}. L'option -b exécute le programme sans interaction ; les valeurs
+     * lues par lire() proviennent alors du fichier donné par -e, ou de l'entrée standard. L'option -c fait de même
+     * après avoir compilé le programme en une classe Java. L'option -t borne le nombre d'entrées de chaque trace
+     * conservées en mémoire, et -d conserve les plus anciennes sur disque. L'option -p affiche, à la fin de
+     * l'exécution, le temps passé sur les lignes les plus coûteuses ; -h colore en plus les numéros de ligne de la
+     * console selon ce temps. L'option -m enregistre les Metriques d'exécution, émises aussi sous forme
+     * d'événements JFR, et les affiche à la fin. Les options -n, -w, -nb et -wb fixent le Budget des
+     * exécutions sans surveillance : étapes et durée du programme, puis par boucle. Avec -b ou -c, le code de
+     * sortie est 1 si le programme n'a pas pu être exécuté (erreurs de structure, variables non déclarées) ou s'il a
+     * dépassé son budget.
      *
-     * @param args Non utilisé.
+     * @param args Options et chemin vers le fichier à interprêter (algo.txt par défaut).
      */
     public static void main(String[] args) {
-        new Interpreteur("algo.txt").demarrer();
+        String chemin = "algo.txt";
+        String entrees = null;
+        boolean lot = false;
+        int capacite = Trace.CAPACITE_DEFAUT;
+        boolean surDisque = false;
+        boolean profilage = false;
+        boolean chaleur = false;
+        boolean metriques = false;
+        boolean compile = false;
+        Budget budget = new Budget();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-n":
+                case "-w":
+                case "-nb":
+                case "-wb":
+                    budget.option(args[i], args[++i]);
+                    break;
+                case "-b":
+                    lot = true;
+                    break;
+                case "-c":
+                    lot = true;
+                    compile = true;
+                    break;
+                case "-e":
+                    entrees = args[++i];
+                    break;
+                case "-t":
+                    capacite = Integer.parseInt(args[++i]);
+                    break;
+                case "-d":
+                    surDisque = true;
+                    break;
+                case "-p":
+                    profilage = true;
+                    break;
+                case "-h":
+                    profilage = true;
+                    chaleur = true;
+                    break;
+                case "-m":
+                    metriques = true;
+                    break;
+                default:
+                    chemin = args[i];
+                    break;
+            }
+        }
+
+        if (metriques) {
+            Metriques.activer(true);
+        }
+
+        Interpreteur interpreteur;
+        boolean reussi = true;
+        if (!lot) {
+            interpreteur = new Interpreteur(chemin);
+            interpreteur.configurerTraces(capacite, surDisque);
+            interpreteur.configurerBudget(budget);
+            if (profilage) {
+                interpreteur.activerProfilage(chaleur);
+            }
+
+            interpreteur.demarrer();
+        } else {
+            try {
+                InputStream entree = entrees == null ? System.in : new FileInputStream(entrees);
+                interpreteur = new Interpreteur(chemin, entree, System.out);
+                interpreteur.configurerBudget(budget);
+                if (profilage) {
+                    interpreteur.activerProfilage(false);
+                }
+
+                reussi = interpreteur.executer(compile) && interpreteur.getDepassement() == null;
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.exit(1);
+                return;
+            }
+        }
+
+        if (interpreteur.getProfileur() != null) {
+            interpreteur.getProfileur().rapport(ERREURS, interpreteur.getLignes(), LIGNES_RAPPORT);
+        }
+
+        if (metriques) {
+            Metriques.rapport(ERREURS);
+        }
+
+        if (!reussi) {
+            System.exit(1);
+        }
     }
 }
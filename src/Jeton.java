@@ -0,0 +1,112 @@
+/**
+ * Classe représentant un jeton (lexème) d'une ligne de pseudo-code. Un jeton est composé d'un type, de son texte
+ * et de sa position dans la ligne d'origine.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-15
+ */
+public final class Jeton {
+    /**
+     * Les différents types de jetons reconnus par le lexeur.
+     */
+    public enum Type {
+        IDENTIFIANT,
+        NOMBRE,
+        CHAINE,
+        CARACTERE,
+        OPERATEUR,
+        AFFECTATION,
+        PARENTHESE_OUVRANTE,
+        PARENTHESE_FERMANTE,
+        VIRGULE,
+        DEUX_POINTS,
+        COMMENTAIRE
+    }
+
+    /**
+     * Type du jeton.
+     */
+    private Type type;
+
+    /**
+     * Texte du jeton, tel qu'il apparaît dans la ligne (sous forme canonique, sans accents, pour un identifiant).
+     */
+    private String texte;
+
+    /**
+     * Position du premier caractère du jeton dans la ligne.
+     */
+    private int debut;
+
+    /**
+     * Position suivant le dernier caractère du jeton dans la ligne.
+     */
+    private int fin;
+
+    /**
+     * Initialise un jeton.
+     *
+     * @param type  Type du jeton.
+     * @param texte Texte du jeton.
+     * @param debut Position du premier caractère du jeton.
+     * @param fin   Position suivant le dernier caractère du jeton.
+     */
+    public Jeton(Type type, String texte, int debut, int fin) {
+        this.type = type;
+        this.texte = texte;
+        this.debut = debut;
+        this.fin = fin;
+    }
+
+    /**
+     * Retourne le type du jeton.
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Retourne le texte du jeton.
+     */
+    public String getTexte() {
+        return this.texte;
+    }
+
+    /**
+     * Retourne la position du premier caractère du jeton.
+     */
+    public int getDebut() {
+        return this.debut;
+    }
+
+    /**
+     * Retourne la position suivant le dernier caractère du jeton.
+     */
+    public int getFin() {
+        return this.fin;
+    }
+
+    /**
+     * Indique si le jeton est de type donné et possède le texte donné.
+     *
+     * @param type  Type attendu.
+     * @param texte Texte attendu.
+     */
+    public boolean est(Type type, String texte) {
+        return this.type == type && this.texte.equals(texte);
+    }
+
+    /**
+     * Indique si le jeton est l'identifiant (ou mot clef) donné.
+     *
+     * @param mot Mot attendu.
+     */
+    public boolean estMot(String mot) {
+        return est(Type.IDENTIFIANT, mot);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + texte + ")";
+    }
+}
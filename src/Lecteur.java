@@ -1,28 +1,51 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Lecteur personnalisé de fichier.
+ * <p>
+ * Le fichier est lu une seule fois, d'un bloc (projeté en mémoire s'il est volumineux), décodé puis découpé en
+ * lignes en un seul parcours. Seules les lignes sont conservées ; leur liste est ensuite partagée, sans copie, avec
+ * tous ceux qui la demandent.
  *
  * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
- * @version 1.0 2018-12-20
+ * @version 1.1 2019-02-26
  */
 public final class Lecteur {
+    /**
+     * Taille à partir de laquelle le fichier est projeté en mémoire plutôt que lu dans un tableau.
+     */
+    private static final long SEUIL_PROJECTION = 1 << 20;
+
+    /**
+     * Encodage utilisé si le fichier n'est pas un UTF-8 valide (fichiers enregistrés sous Windows par exemple).
+     */
+    private static final Charset ENCODAGE_SECOURS = StandardCharsets.ISO_8859_1;
+
     /**
      * Chemin vers le fichier à lire.
      */
     private String chemin;
 
     /**
-     * Lignes du fichier précédemment lu.
+     * Encodage du fichier.
      */
-    private ArrayList<String> lignes;
+    private Charset encodage;
 
     /**
-     * Contenu du fichier précédemment lu.
+     * Lignes du fichier précédemment lu, sous forme de vue non modifiable partagée.
      */
-    private String contenu;
+    private List<String> lignes;
 
     /**
      * Indique si le fichier a déjà été lu.
@@ -30,22 +53,48 @@ public final class Lecteur {
     private boolean lu;
 
     /**
-     * Création d'un Lecteur à partir du fichier spécifié.
+     * Création d'un Lecteur à partir du fichier spécifié, encodé en UTF-8.
      *
      * @param chemin Chemin vers le fichier.
      */
     public Lecteur(String chemin) {
+        this(chemin, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Création d'un Lecteur à partir du fichier spécifié.
+     *
+     * @param chemin   Chemin vers le fichier.
+     * @param encodage Encodage du fichier.
+     */
+    public Lecteur(String chemin, Charset encodage) {
         this.chemin = chemin;
+        this.encodage = encodage;
         this.lu = false;
-        this.lignes = new ArrayList<>();
+        this.lignes = Collections.emptyList();
+    }
+
+    /**
+     * Retourne les lignes du fichier. La liste retournée est partagée et ne peut pas être modifiée.
+     */
+    public List<String> getLignes() {
+        return this.lignes;
     }
 
     /**
-     * Retourne les lignes du fichier sous la forme d'un tableau de String.
+     * Retourne la ligne d'index donné.
+     *
+     * @param i Index de la ligne (à partir de 0).
      */
-    public String[] getLignes() {
-        String[] lignes = new String[this.lignes.size()];
-        return this.lignes.toArray(lignes);
+    public String getLigne(int i) {
+        return this.lignes.get(i);
+    }
+
+    /**
+     * Retourne le nombre de lignes du fichier.
+     */
+    public int getNombreLignes() {
+        return this.lignes.size();
     }
 
     /**
@@ -56,19 +105,79 @@ public final class Lecteur {
             return;
         }
 
-        try {
-            BufferedReader br = new BufferedReader(new FileReader(chemin));
+        try (FileChannel canal = FileChannel.open(Paths.get(chemin), StandardOpenOption.READ)) {
+            long taille = canal.size();
+            ByteBuffer octets;
 
-            String ligne;
-            while ((ligne = br.readLine()) != null) {
-                lignes.add(ligne);
-                contenu += ligne + "\n";
+            if (taille >= SEUIL_PROJECTION) {
+                octets = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            } else {
+                octets = ByteBuffer.allocate((int) taille);
+                while (octets.hasRemaining() && canal.read(octets) >= 0) {
+                    // Lecture jusqu'à remplir le tampon.
+                }
+                octets.flip();
             }
 
-            br.close();
+            lignes = decoupe(decode(octets));
             lu = true;
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Décode le contenu du fichier dans l'encodage du lecteur, ou dans l'encodage de secours s'il est invalide.
+     *
+     * @param octets Contenu brut du fichier.
+     * @return Le contenu décodé, sans marque d'ordre des octets.
+     */
+    private String decode(ByteBuffer octets) {
+        CharBuffer caracteres;
+
+        try {
+            caracteres = encodage.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(octets.duplicate());
+        } catch (CharacterCodingException e) {
+            caracteres = ENCODAGE_SECOURS.decode(octets.duplicate());
+        }
+
+        if (caracteres.length() > 0 && caracteres.charAt(0) == '\uFEFF') {
+            caracteres.position(1);
+        }
+
+        return caracteres.toString();
+    }
+
+    /**
+     * Découpe le contenu du fichier en lignes, en un seul parcours. Les fins de ligne '\n' et '\r\n' sont
+     * reconnues ; une fin de ligne finale ne crée pas de ligne vide.
+     *
+     * @param contenu Contenu décodé du fichier.
+     * @return Les lignes, sous forme de liste non modifiable.
+     */
+    private static List<String> decoupe(String contenu) {
+        List<String> tableau = new ArrayList<>();
+        int longueur = contenu.length();
+
+        int debut = 0;
+        while (debut < longueur) {
+            int fin = contenu.indexOf('\n', debut);
+            int suivante = fin < 0 ? longueur : fin + 1;
+            if (fin < 0) {
+                fin = longueur;
+            }
+
+            if (fin > debut && contenu.charAt(fin - 1) == '\r') {
+                fin--;
+            }
+
+            tableau.add(contenu.substring(debut, fin));
+            debut = suivante;
+        }
+
+        return Collections.unmodifiableList(tableau);
+    }
 }
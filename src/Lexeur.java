@@ -0,0 +1,173 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpe une ligne de pseudo-code en jetons. Le découpage est effectué en une seule passe, les chaînes de caractères
+ * (y compris les guillemets échappés) et les commentaires sont reconnus comme des jetons à part entière.
+ * <p>
+ * Les identifiants et mots clefs sont mis sous forme canonique, sans accents ('écrire' devient 'ecrire', 'réel'
+ * devient 'reel') : le reste de l'interpréteur ne connaît que cette forme. Les chaînes et caractères littéraux sont
+ * conservés tels quels.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-15
+ */
+public final class Lexeur {
+    /**
+     * Opérateurs composés de plusieurs caractères. L'ordre est important : le plus long doit être testé en premier.
+     */
+    private static final String[] OPERATEURS_COMPOSES = {"<--", "<=", ">=", "<>", "!=", "==", "&&", "||"};
+
+    /**
+     * Lettre sans accent correspondant à chaque caractère latin, calculée une seule fois à partir de sa
+     * décomposition Unicode (é donne e, Ç donne C). Les caractères sans accent correspondent à eux-mêmes.
+     */
+    private static final char[] SANS_ACCENT = new char[0x250];
+
+    static {
+        for (char c = 0; c < SANS_ACCENT.length; c++) {
+            SANS_ACCENT[c] = c;
+
+            String decomposition = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            boolean accentue = decomposition.length() > 1 && decomposition.charAt(0) < 0x80
+                    && Character.isLetter(decomposition.charAt(0));
+            for (int i = 1; accentue && i < decomposition.length(); i++) {
+                accentue = Character.getType(decomposition.charAt(i)) == Character.NON_SPACING_MARK;
+            }
+
+            if (accentue) {
+                SANS_ACCENT[c] = decomposition.charAt(0);
+            }
+        }
+    }
+
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Lexeur() {
+
+    }
+
+    /**
+     * Découpe la ligne donnée en jetons.
+     *
+     * @param ligne Ligne à découper.
+     * @return La liste des jetons de la ligne, dans l'ordre.
+     */
+    public static List<Jeton> decoupe(String ligne) {
+        List<Jeton> jetons = new ArrayList<>();
+        int longueur = ligne.length();
+        int i = 0;
+
+        while (i < longueur) {
+            char c = ligne.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            int debut = i;
+
+            if (c == '/' && i + 1 < longueur && ligne.charAt(i + 1) == '/') {
+                jetons.add(new Jeton(Jeton.Type.COMMENTAIRE, ligne.substring(i), i, longueur));
+                break;
+            } else if (c == '"' || c == '\'') {
+                i = finLitteral(ligne, i, c);
+                Jeton.Type type = c == '"' ? Jeton.Type.CHAINE : Jeton.Type.CARACTERE;
+                jetons.add(new Jeton(type, ligne.substring(debut, i), debut, i));
+            } else if (Character.isDigit(c)) {
+                while (i < longueur && Character.isDigit(ligne.charAt(i))) {
+                    i++;
+                }
+
+                if (i + 1 < longueur && ligne.charAt(i) == '.' && Character.isDigit(ligne.charAt(i + 1))) {
+                    i++;
+                    while (i < longueur && Character.isDigit(ligne.charAt(i))) {
+                        i++;
+                    }
+                }
+
+                jetons.add(new Jeton(Jeton.Type.NOMBRE, ligne.substring(debut, i), debut, i));
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < longueur && (Character.isLetterOrDigit(ligne.charAt(i)) || ligne.charAt(i) == '_')) {
+                    i++;
+                }
+
+                jetons.add(new Jeton(Jeton.Type.IDENTIFIANT, canonique(ligne.substring(debut, i)), debut, i));
+            } else if (c == '(') {
+                jetons.add(new Jeton(Jeton.Type.PARENTHESE_OUVRANTE, "(", i, ++i));
+            } else if (c == ')') {
+                jetons.add(new Jeton(Jeton.Type.PARENTHESE_FERMANTE, ")", i, ++i));
+            } else if (c == ',') {
+                jetons.add(new Jeton(Jeton.Type.VIRGULE, ",", i, ++i));
+            } else if (c == ':') {
+                jetons.add(new Jeton(Jeton.Type.DEUX_POINTS, ":", i, ++i));
+            } else {
+                String operateur = String.valueOf(c);
+                for (String compose : OPERATEURS_COMPOSES) {
+                    if (ligne.startsWith(compose, i)) {
+                        operateur = compose;
+                        break;
+                    }
+                }
+
+                i += operateur.length();
+                Jeton.Type type = operateur.equals("<--") ? Jeton.Type.AFFECTATION : Jeton.Type.OPERATEUR;
+                jetons.add(new Jeton(type, operateur, debut, i));
+            }
+        }
+
+        return jetons;
+    }
+
+    /**
+     * Retourne la forme canonique d'un identifiant : ses lettres accentuées sont remplacées par leur lettre de base.
+     *
+     * @param identifiant Identifiant tel qu'il apparaît dans la ligne.
+     * @return L'identifiant sans accents, ou l'identifiant lui-même s'il n'en contient pas.
+     */
+    public static String canonique(String identifiant) {
+        char[] caracteres = null;
+
+        for (int i = 0; i < identifiant.length(); i++) {
+            char c = identifiant.charAt(i);
+            if (c < SANS_ACCENT.length && SANS_ACCENT[c] != c) {
+                if (caracteres == null) {
+                    caracteres = identifiant.toCharArray();
+                }
+
+                caracteres[i] = SANS_ACCENT[c];
+            }
+        }
+
+        return caracteres == null ? identifiant : new String(caracteres);
+    }
+
+    /**
+     * Retourne la position suivant la fin d'un littéral (chaîne ou caractère) en tenant compte des échappements.
+     * Si le littéral n'est pas fermé, la fin de la ligne est retournée.
+     *
+     * @param ligne      Ligne contenant le littéral.
+     * @param debut      Position du délimiteur ouvrant.
+     * @param delimiteur Délimiteur du littéral.
+     */
+    private static int finLitteral(String ligne, int debut, char delimiteur) {
+        int i = debut + 1;
+
+        while (i < ligne.length()) {
+            char c = ligne.charAt(i);
+
+            if (c == '\\') {
+                i += 2;
+            } else if (c == delimiteur) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+
+        return ligne.length();
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure du registre de Metriques : compte les valeurs enregistrées (des durées en nanosecondes, ou des tailles)
+ * et les répartit dans un histogramme dont chaque case couvre une puissance de deux. Peut être alimentée par
+ * plusieurs threads à la fois.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-04-09
+ */
+public final class Mesure {
+    /**
+     * Nom de la mesure.
+     */
+    private String nom;
+
+    /**
+     * Nombre de valeurs enregistrées.
+     */
+    private LongAdder nombre;
+
+    /**
+     * Somme des valeurs enregistrées.
+     */
+    private LongAdder somme;
+
+    /**
+     * Plus grande valeur enregistrée.
+     */
+    private AtomicLong maximum;
+
+    /**
+     * Nombre de valeurs de chaque case : la case i compte les valeurs v telles que 2^(i-1) <= v < 2^i.
+     */
+    private AtomicLongArray histogramme;
+
+    /**
+     * Initialise une mesure vide.
+     *
+     * @param nom Nom de la mesure.
+     */
+    public Mesure(String nom) {
+        this.nom = nom;
+        this.nombre = new LongAdder();
+        this.somme = new LongAdder();
+        this.maximum = new AtomicLong();
+        this.histogramme = new AtomicLongArray(64);
+    }
+
+    /**
+     * Enregistre une valeur.
+     *
+     * @param valeur Valeur à enregistrer (positive).
+     */
+    public void enregistre(long valeur) {
+        valeur = Math.max(0, valeur);
+
+        nombre.increment();
+        somme.add(valeur);
+        maximum.accumulateAndGet(valeur, Math::max);
+        histogramme.incrementAndGet(64 - Long.numberOfLeadingZeros(valeur));
+    }
+
+    /**
+     * Retourne le nom de la mesure.
+     */
+    public String getNom() {
+        return this.nom;
+    }
+
+    /**
+     * Retourne le nombre de valeurs enregistrées.
+     */
+    public long getNombre() {
+        return nombre.sum();
+    }
+
+    /**
+     * Retourne la somme des valeurs enregistrées.
+     */
+    public long getSomme() {
+        return somme.sum();
+    }
+
+    /**
+     * Retourne la plus grande valeur enregistrée.
+     */
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * Retourne la moyenne des valeurs enregistrées.
+     */
+    public double getMoyenne() {
+        long n = getNombre();
+        return n == 0 ? 0 : (double) getSomme() / n;
+    }
+
+    /**
+     * Retourne une estimation du quantile donné : la borne supérieure de la case de l'histogramme qui le contient.
+     *
+     * @param quantile Quantile, entre 0 et 1.
+     */
+    public long getQuantile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < histogramme.length(); i++) {
+            total += histogramme.get(i);
+        }
+
+        long rang = (long) Math.ceil(quantile * total);
+        long cumul = 0;
+        for (int i = 0; i < histogramme.length(); i++) {
+            cumul += histogramme.get(i);
+            if (cumul >= rang && cumul > 0) {
+                return i == 0 ? 0 : Math.min(getMaximum(), (1L << i) - 1);
+            }
+        }
+
+        return 0;
+    }
+}
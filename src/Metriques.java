@@ -0,0 +1,222 @@
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registre des métriques d'exécution, commun à tous les interpréteurs de la JVM. Chaque Mesure est identifiée par
+ * un nom hiérarchique :
+ * <ul>
+ * <li>{@code scripting.*} : appels d'évaluation, dont {@code scripting.beanshell} pour le temps passé dans
+ * BeanShell, {@code scripting.creation} pour la création de son interpréteur et {@code scripting.prototype}
+ * pour la déclaration des fonctions, faite une seule fois par JVM ;</li>
+ * <li>{@code lire.attente} et {@code lire.conversion} : attente de la saisie et traitement de la valeur lue ;</li>
+ * <li>{@code console.affichage} : dessin de la console ;</li>
+ * <li>{@code interpreteur.retour} : retours en arrière ;</li>
+ * <li>{@code trace.*.taille} : taille des traces, relevée à chaque instantané.</li>
+ * </ul>
+ * <p>
+ * Le registre est inactif par défaut : l'instrumentation ne coûte alors qu'une lecture de booléen. Une fois activé,
+ * chaque durée peut aussi être émise sous forme d'événement JDK Flight Recorder « pseudocode.Mesure ». Ces
+ * événements sont créés par réflexion (jdk.jfr.EventFactory, Java 12 et suivants) afin que le projet reste
+ * compilable en Java 8 ; ils sont simplement ignorés si la JVM ne les propose pas.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-04-09
+ */
+public final class Metriques {
+    /**
+     * Indique si les métriques sont enregistrées.
+     */
+    private static volatile boolean actif;
+
+    /**
+     * Mesures du registre, triées par nom.
+     */
+    private static final ConcurrentSkipListMap<String, Mesure> MESURES = new ConcurrentSkipListMap<>();
+
+    /**
+     * Fabrique des événements JFR, ou null si JFR n'est pas utilisé.
+     */
+    private static volatile Object fabrique;
+
+    /**
+     * Méthode jdk.jfr.EventFactory.newEvent.
+     */
+    private static Method nouvelEvenement;
+
+    /**
+     * Méthode jdk.jfr.Event.shouldCommit.
+     */
+    private static Method estActif;
+
+    /**
+     * Méthode jdk.jfr.Event.set.
+     */
+    private static Method affecte;
+
+    /**
+     * Méthode jdk.jfr.Event.commit.
+     */
+    private static Method enregistre;
+
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Metriques() {
+
+    }
+
+    /**
+     * Active l'enregistrement des métriques.
+     *
+     * @param jfr Indique si les durées sont aussi émises sous forme d'événements JFR.
+     */
+    public static synchronized void activer(boolean jfr) {
+        if (jfr && fabrique == null) {
+            fabrique = creerFabrique();
+        }
+
+        actif = true;
+    }
+
+    /**
+     * Indique si les métriques sont enregistrées.
+     */
+    public static boolean estActif() {
+        return actif;
+    }
+
+    /**
+     * Retourne la mesure portant le nom donné, en la créant si besoin.
+     *
+     * @param nom Nom de la mesure.
+     */
+    public static Mesure mesure(String nom) {
+        return MESURES.computeIfAbsent(nom, Mesure::new);
+    }
+
+    /**
+     * Retourne toutes les mesures, triées par nom.
+     */
+    public static Collection<Mesure> getMesures() {
+        return MESURES.values();
+    }
+
+    /**
+     * Enregistre une valeur (une taille par exemple) dans la mesure donnée, si les métriques sont actives.
+     *
+     * @param nom    Nom de la mesure.
+     * @param valeur Valeur à enregistrer.
+     */
+    public static void valeur(String nom, long valeur) {
+        if (actif) {
+            mesure(nom).enregistre(valeur);
+        }
+    }
+
+    /**
+     * Retourne l'instant présent en nanosecondes si les métriques sont actives, ou 0 sinon. À passer ensuite à
+     * duree, qui ne fait rien dans ce dernier cas.
+     */
+    public static long debut() {
+        return actif ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Enregistre, dans la mesure donnée, la durée écoulée depuis l'instant donné par debut.
+     *
+     * @param nom   Nom de la mesure.
+     * @param debut Instant retourné par debut.
+     */
+    public static void duree(String nom, long debut) {
+        if (debut == 0) {
+            return;
+        }
+
+        long duree = System.nanoTime() - debut;
+        mesure(nom).enregistre(duree);
+        emetEvenement(nom, duree);
+    }
+
+    /**
+     * Émet un événement JFR pour la durée donnée, si JFR est utilisé et enregistre ces événements.
+     *
+     * @param nom   Nom de la mesure.
+     * @param duree Durée en nanosecondes.
+     */
+    private static void emetEvenement(String nom, long duree) {
+        Object f = fabrique;
+        if (f == null) {
+            return;
+        }
+
+        try {
+            Object evenement = nouvelEvenement.invoke(f);
+            if ((Boolean) estActif.invoke(evenement)) {
+                affecte.invoke(evenement, 0, nom);
+                affecte.invoke(evenement, 1, duree);
+                enregistre.invoke(evenement);
+            }
+        } catch (Exception e) {
+            fabrique = null;
+        }
+    }
+
+    /**
+     * Crée, par réflexion, le type d'événement JFR « pseudocode.Mesure », composé du nom de la mesure et de la
+     * durée.
+     *
+     * @return La fabrique d'événements, ou null si JFR n'est pas disponible.
+     */
+    private static Object creerFabrique() {
+        try {
+            Class<?> element = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> descripteur = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> classeFabrique = Class.forName("jdk.jfr.EventFactory");
+            Constructor<?> annotation = element.getConstructor(Class.class, Object.class);
+            Constructor<?> champ = descripteur.getConstructor(Class.class, String.class, List.class);
+
+            List<Object> annotations = Arrays.asList(
+                    annotation.newInstance(Class.forName("jdk.jfr.Name"), "pseudocode.Mesure"),
+                    annotation.newInstance(Class.forName("jdk.jfr.Label"), "Mesure PseudoCode"),
+                    annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"PseudoCode"}));
+
+            List<Object> champs = new ArrayList<>();
+            champs.add(champ.newInstance(String.class, "mesure",
+                    Arrays.asList(annotation.newInstance(Class.forName("jdk.jfr.Label"), "Mesure"))));
+            champs.add(champ.newInstance(long.class, "duree",
+                    Arrays.asList(annotation.newInstance(Class.forName("jdk.jfr.Label"), "Durée"),
+                            annotation.newInstance(Class.forName("jdk.jfr.Timespan"),
+                                    "NANOSECONDS"))));
+
+            Object f = classeFabrique.getMethod("create", List.class, List.class).invoke(null, annotations, champs);
+
+            Class<?> evenement = Class.forName("jdk.jfr.Event");
+            nouvelEvenement = classeFabrique.getMethod("newEvent");
+            estActif = evenement.getMethod("shouldCommit");
+            affecte = evenement.getMethod("set", int.class, Object.class);
+            enregistre = evenement.getMethod("commit");
+            return f;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Écrit toutes les mesures : nombre, moyenne, quantiles approchés et maximum.
+     *
+     * @param sortie Flux recevant le rapport.
+     */
+    public static void rapport(PrintStream sortie) {
+        sortie.println(String.format("%-26s %10s %14s %12s %12s %14s", "Mesure", "Nombre", "Moyenne", "p50 <=", "p99 <=", "Max"));
+        for (Mesure mesure : MESURES.values()) {
+            sortie.println(String.format("%-26s %10d %14.1f %12d %12d %14d", mesure.getNom(), mesure.getNombre(),
+                    mesure.getMoyenne(), mesure.getQuantile(0.5), mesure.getQuantile(0.99), mesure.getMaximum()));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Opérations de base du pseudo-code sur les valeurs manipulées par les expressions compilées. Les règles de
+ * promotion suivent celles de Java (et donc de BeanShell) : un caractère est un entier, un entier combiné à un
+ * réel donne un réel, et l'addition avec une chaîne est une concaténation.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-22
+ */
+public final class Operations {
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Operations() {
+
+    }
+
+    /**
+     * Applique un opérateur arithmétique aux deux valeurs données.
+     *
+     * @param operateur Opérateur à appliquer.
+     * @param a         Opérande de gauche.
+     * @param b         Opérande de droite.
+     * @return Le résultat de l'opération.
+     */
+    public static Object arithmetique(Expression.Operateur operateur, Object a, Object b) {
+        if (operateur == Expression.Operateur.PLUS && (a instanceof String || b instanceof String)) {
+            return String.valueOf(a) + String.valueOf(b);
+        }
+
+        if (!estNumerique(a) || !estNumerique(b)) {
+            throw new IllegalArgumentException("Opération " + operateur + " impossible entre " + a + " et " + b + ".");
+        }
+
+        if (estReel(a) || estReel(b)) {
+            double x = enDouble(a);
+            double y = enDouble(b);
+
+            switch (operateur) {
+                case PLUS:
+                    return x + y;
+                case MOINS:
+                    return x - y;
+                case FOIS:
+                    return x * y;
+                case DIVISE:
+                    return x / y;
+                case MODULO:
+                    return x % y;
+                default:
+                    break;
+            }
+        } else if (a instanceof Long || b instanceof Long) {
+            long x = enLong(a);
+            long y = enLong(b);
+
+            switch (operateur) {
+                case PLUS:
+                    return x + y;
+                case MOINS:
+                    return x - y;
+                case FOIS:
+                    return x * y;
+                case DIVISE:
+                    return x / y;
+                case MODULO:
+                    return x % y;
+                default:
+                    break;
+            }
+        } else {
+            int x = (int) enLong(a);
+            int y = (int) enLong(b);
+
+            switch (operateur) {
+                case PLUS:
+                    return x + y;
+                case MOINS:
+                    return x - y;
+                case FOIS:
+                    return x * y;
+                case DIVISE:
+                    return x / y;
+                case MODULO:
+                    return x % y;
+                default:
+                    break;
+            }
+        }
+
+        throw new IllegalArgumentException("Opérateur " + operateur + " non arithmétique.");
+    }
+
+    /**
+     * Indique si les deux valeurs sont égales. Deux nombres sont comparés par leur valeur, quel que soit leur type.
+     *
+     * @param a Première valeur.
+     * @param b Seconde valeur.
+     */
+    public static boolean egal(Object a, Object b) {
+        if (estNumerique(a) && estNumerique(b)) {
+            return compare(a, b) == 0;
+        }
+
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Compare deux valeurs numériques, ou deux chaînes.
+     *
+     * @param a Première valeur.
+     * @param b Seconde valeur.
+     * @return Un nombre négatif, nul ou positif selon que a est inférieur, égal ou supérieur à b.
+     */
+    public static int compare(Object a, Object b) {
+        if (estNumerique(a) && estNumerique(b)) {
+            if (estReel(a) || estReel(b)) {
+                return Double.compare(enDouble(a), enDouble(b));
+            }
+
+            return Long.compare(enLong(a), enLong(b));
+        }
+
+        if (a instanceof String && b instanceof String) {
+            return ((String) a).compareTo((String) b);
+        }
+
+        throw new IllegalArgumentException("Comparaison impossible entre " + a + " et " + b + ".");
+    }
+
+    /**
+     * Indique si la valeur peut être utilisée dans un calcul.
+     *
+     * @param valeur Valeur à examiner.
+     */
+    public static boolean estNumerique(Object valeur) {
+        return valeur instanceof Number || valeur instanceof Character;
+    }
+
+    /**
+     * Indique si la valeur est un nombre à virgule.
+     *
+     * @param valeur Valeur à examiner.
+     */
+    private static boolean estReel(Object valeur) {
+        return valeur instanceof Double || valeur instanceof Float;
+    }
+
+    /**
+     * Convertit une valeur numérique en entier long.
+     *
+     * @param valeur Valeur à convertir.
+     */
+    public static long enLong(Object valeur) {
+        if (valeur instanceof Character) {
+            return (Character) valeur;
+        }
+
+        return ((Number) valeur).longValue();
+    }
+
+    /**
+     * Convertit une valeur numérique en réel.
+     *
+     * @param valeur Valeur à convertir.
+     */
+    public static double enDouble(Object valeur) {
+        if (valeur instanceof Character) {
+            return (Character) valeur;
+        }
+
+        return ((Number) valeur).doubleValue();
+    }
+
+    /**
+     * Convertit une valeur destinée à une variable entière. Un réel n'est accepté que s'il a une valeur entière
+     * (4.0 donne 4) : sa partie décimale serait sinon perdue sans que rien ne le signale.
+     *
+     * @param valeur Valeur à convertir.
+     * @throws IllegalArgumentException Si la valeur est un réel non entier.
+     */
+    public static long enEntier(Object valeur) {
+        if (valeur instanceof Double || valeur instanceof Float) {
+            return enEntier(((Number) valeur).doubleValue());
+        }
+
+        return enLong(valeur);
+    }
+
+    /**
+     * Convertit un réel destiné à une variable entière, comme enEntier(Object).
+     *
+     * @param reel Réel à convertir.
+     * @throws IllegalArgumentException Si le réel n'a pas une valeur entière.
+     */
+    public static long enEntier(double reel) {
+        long entier = (long) reel;
+        if (entier != reel) {
+            throw new IllegalArgumentException("Erreur de type : le réel " + reel
+                    + " ne peut pas être affecté à un entier (utiliser plancher, plafond ou arrondi).");
+        }
+
+        return entier;
+    }
+
+    /**
+     * Convertit une valeur en caractère : une chaîne d'un seul caractère donne ce caractère, un nombre le
+     * caractère de ce code.
+     *
+     * @param valeur Valeur à convertir.
+     */
+    public static char enCaractere(Object valeur) {
+        if (valeur instanceof String && ((String) valeur).length() == 1) {
+            return ((String) valeur).charAt(0);
+        }
+
+        return (char) enLong(valeur);
+    }
+}
@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Analyse statique du programme, effectuée une seule fois au chargement.
+ * <p>
+ * La vérification relève les variables utilisées sans avoir été déclarées, avant toute exécution. L'optimisation
+ * simplifie les expressions compilées (constantes remplacées par leur valeur, sous-expressions constantes
+ * calculées), supprime les branches dont la condition est connue d'avance et extrait de chaque boucle les
+ * sous-expressions qui n'y changent pas de valeur. Le programme garde une instruction par ligne : une branche
+ * supprimée devient un saut, ou une instruction vide.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-12
+ */
+public final class Optimiseur {
+    /**
+     * Identifiants du pseudo-code qui ne désignent pas une variable.
+     */
+    private static final Set<String> MOTS_RESERVES = new HashSet<>(Arrays.asList(
+            "vrai", "vraie", "faux", "fausse", "true", "false", "et", "ou", "non", "mod", "null"));
+
+    /**
+     * Constructeur privé pour empêcher toute instanciation de la classe.
+     */
+    private Optimiseur() {
+
+    }
+
+    /**
+     * Signale au programme chaque variable utilisée dans le corps sans avoir été déclarée. Les identifiants suivis
+     * d'une parenthèse (fonctions) ou d'un point (classes Java, laissées à BeanShell) ne sont pas concernés.
+     *
+     * @param programme Programme à vérifier.
+     * @param variables Variables et constantes déclarées.
+     */
+    public static void verifie(Programme programme, TableSymboles variables) {
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            Instruction instruction = programme.getInstruction(i);
+            Set<String> inconnues = new LinkedHashSet<>();
+
+            switch (instruction.getNature()) {
+                case AFFECTATION:
+                case LIRE:
+                    if (variables.cherche(instruction.getNom()) == null) {
+                        inconnues.add(instruction.getNom());
+                    }
+
+                    if (instruction.getExpression() != null) {
+                        cherchePasDeclarees(instruction.getExpression(), variables, inconnues);
+                    }
+                    break;
+                case SI:
+                case TANT_QUE:
+                    cherchePasDeclarees(instruction.getExpression(), variables, inconnues);
+                    break;
+                case ECRIRE:
+                case APPEL:
+                    for (String argument : instruction.getArguments()) {
+                        cherchePasDeclarees(argument, variables, inconnues);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            for (String nom : inconnues) {
+                programme.signale(i, "variable '" + nom + "' non déclarée.");
+            }
+        }
+    }
+
+    /**
+     * Retourne les variables utilisées dans une expression isolée (condition d'un point d'arrêt par exemple) sans
+     * avoir été déclarées, selon les mêmes règles que la vérification du programme.
+     *
+     * @param expression Texte de l'expression, en pseudo-code.
+     * @param variables  Variables et constantes déclarées.
+     * @return Les identifiants inconnus, dans leur ordre d'apparition.
+     */
+    public static Set<String> verifie(String expression, TableSymboles variables) {
+        Set<String> inconnues = new LinkedHashSet<>();
+        cherchePasDeclarees(expression, variables, inconnues);
+        return inconnues;
+    }
+
+    /**
+     * Ajoute à l'ensemble donné les identifiants de l'expression qui devraient être des variables mais n'ont pas été
+     * déclarés.
+     *
+     * @param expression Texte de l'expression.
+     * @param variables  Variables et constantes déclarées.
+     * @param inconnues  Ensemble recevant les identifiants inconnus.
+     */
+    private static void cherchePasDeclarees(String expression, TableSymboles variables, Set<String> inconnues) {
+        List<Jeton> jetons = Lexeur.decoupe(expression);
+
+        for (int i = 0; i < jetons.size(); i++) {
+            Jeton jeton = jetons.get(i);
+            if (jeton.getType() != Jeton.Type.IDENTIFIANT || MOTS_RESERVES.contains(jeton.getTexte())) {
+                continue;
+            }
+
+            Jeton suivant = i + 1 < jetons.size() ? jetons.get(i + 1) : null;
+            Jeton precedent = i > 0 ? jetons.get(i - 1) : null;
+            if (suivant != null && (suivant.getType() == Jeton.Type.PARENTHESE_OUVRANTE
+                    || suivant.est(Jeton.Type.OPERATEUR, "."))) {
+                continue;
+            } else if (precedent != null && precedent.est(Jeton.Type.OPERATEUR, ".")) {
+                continue;
+            }
+
+            if (variables.cherche(jeton.getTexte()) == null) {
+                inconnues.add(jeton.getTexte());
+            }
+        }
+    }
+
+    /**
+     * Optimise le programme, dont les expressions doivent déjà avoir été compilées.
+     *
+     * @param programme Programme à optimiser.
+     */
+    public static void optimise(Programme programme) {
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            Instruction instruction = programme.getInstruction(i);
+            if (instruction.getCompilee() != null) {
+                instruction.setCompilee(instruction.getCompilee().simplifie());
+            }
+        }
+
+        extraitInvariants(programme);
+        supprimeBranchesMortes(programme);
+    }
+
+    /**
+     * Extrait de chaque boucle les sous-expressions invariantes : celles qui ne lisent aucune variable affectée ou
+     * lue dans le corps de la boucle. Chaque expression est traitée pour la boucle la plus intérieure qui la
+     * contient, et les invariants sont confiés au 'tant que' correspondant, qui les invalide à chaque entrée dans la
+     * boucle.
+     *
+     * @param programme Programme à optimiser.
+     */
+    private static void extraitInvariants(Programme programme) {
+        int nombre = programme.getNombreInstructions();
+
+        for (int debut = 0; debut < nombre; debut++) {
+            Instruction tantQue = programme.getInstruction(debut);
+            int fin = programme.getCorrespondance(debut);
+            if (tantQue.getNature() != Instruction.Nature.TANT_QUE || fin < 0) {
+                continue;
+            }
+
+            Set<Variable> modifiees = new HashSet<>();
+            for (int i = debut + 1; i < fin; i++) {
+                Instruction instruction = programme.getInstruction(i);
+                Instruction.Nature nature = instruction.getNature();
+                if (nature == Instruction.Nature.AFFECTATION || nature == Instruction.Nature.LIRE) {
+                    modifiees.add(instruction.getVariable());
+                }
+            }
+
+            List<Expression.Invariant> invariants = new ArrayList<>();
+            for (int i = debut; i < fin; i++) {
+                Instruction instruction = programme.getInstruction(i);
+                if (programme.getBoucle(i) == debut && instruction.getCompilee() != null) {
+                    instruction.setCompilee(instruction.getCompilee().extraitInvariants(modifiees, invariants));
+                }
+            }
+
+            if (!invariants.isEmpty()) {
+                tantQue.setInvariants(invariants.toArray(new Expression.Invariant[0]));
+            }
+        }
+    }
+
+    /**
+     * Remplace les conditions connues d'avance : un 'si' toujours vrai devient une instruction vide (son éventuel
+     * 'sinon' sautant déjà après le 'fsi'), un 'si' ou un 'tant que' toujours faux devient un saut après le bloc.
+     *
+     * @param programme Programme à optimiser.
+     */
+    private static void supprimeBranchesMortes(Programme programme) {
+        for (int i = 0; i < programme.getNombreInstructions(); i++) {
+            Instruction instruction = programme.getInstruction(i);
+            Instruction.Nature nature = instruction.getNature();
+            Expression condition = instruction.getCompilee();
+
+            if ((nature != Instruction.Nature.SI && nature != Instruction.Nature.TANT_QUE)
+                    || !(condition instanceof Expression.Constante)
+                    || condition.getType() != Variable.Type.BOOLEEN) {
+                continue;
+            }
+
+            if (!condition.evalueBooleen()) {
+                instruction.setNature(Instruction.Nature.SAUT);
+            } else if (nature == Instruction.Nature.SI) {
+                instruction.setNature(Instruction.Nature.VIDE);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Point d'arrêt posé sur une ligne du programme. Un point d'arrêt peut être conditionnel : sa condition, écrite en
+ * pseudo-code, est compilée une seule fois, lorsqu'il est posé, puis évaluée à chaque passage sur la ligne.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class PointArret {
+    /**
+     * Ligne du point d'arrêt (à partir de 0).
+     */
+    private int ligne;
+
+    /**
+     * Texte de la condition, ou null si le point d'arrêt est inconditionnel.
+     */
+    private String texte;
+
+    /**
+     * Condition compilée, ou null si le point d'arrêt est inconditionnel.
+     */
+    private Expression condition;
+
+    /**
+     * Nombre de fois où l'exécution s'est arrêtée sur ce point d'arrêt.
+     */
+    private int declenchements;
+
+    /**
+     * Initialise un point d'arrêt.
+     *
+     * @param ligne     Ligne du point d'arrêt.
+     * @param texte     Texte de la condition, ou null.
+     * @param condition Condition compilée, ou null.
+     */
+    public PointArret(int ligne, String texte, Expression condition) {
+        this.ligne = ligne;
+        this.texte = texte;
+        this.condition = condition;
+        this.declenchements = 0;
+    }
+
+    /**
+     * Indique si l'exécution doit s'arrêter sur ce point d'arrêt, c'est-à-dire s'il est inconditionnel ou si sa
+     * condition est vraie.
+     *
+     * @param scripting Contexte d'évaluation de la condition.
+     */
+    public boolean estDeclenche(Scripting scripting) {
+        if (condition == null || scripting.evalue(condition)) {
+            declenchements++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Retourne la ligne du point d'arrêt.
+     */
+    public int getLigne() {
+        return this.ligne;
+    }
+
+    /**
+     * Retourne le texte de la condition, ou null si le point d'arrêt est inconditionnel.
+     */
+    public String getCondition() {
+        return this.texte;
+    }
+
+    /**
+     * Retourne le nombre de fois où l'exécution s'est arrêtée sur ce point d'arrêt.
+     */
+    public int getDeclenchements() {
+        return this.declenchements;
+    }
+
+    @Override
+    public String toString() {
+        return "ligne " + (ligne + 1) + (texte == null ? "" : " si " + texte);
+    }
+}
@@ -0,0 +1,206 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Profileur ligne à ligne. Compte, pour chaque ligne du programme et pour chaque fonction native appelée, le nombre
+ * d'exécutions et le temps passé, en nanosecondes. Les compteurs sont de simples tableaux indexés par numéro de
+ * ligne ou par fonction, afin que la mesure coûte le moins possible.
+ * <p>
+ * Le temps d'une fonction, qui comprend l'évaluation de ses arguments, est inclus dans celui de la ligne qui
+ * l'appelle. Le temps d'une ligne lire() inclut l'attente de la saisie en mode pas à pas.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-04-02
+ */
+public final class Profileur {
+    /**
+     * Couleurs de chaleur, de la plus froide à la plus chaude.
+     */
+    private static final String[] COULEURS_CHALEUR = {
+            "\u001B[34m", "\u001B[36m", "\u001B[32m", "\u001B[33m", "\u001B[31m"
+    };
+
+    /**
+     * Nombre d'exécutions de chaque ligne.
+     */
+    private long[] executions;
+
+    /**
+     * Temps passé sur chaque ligne, en nanosecondes.
+     */
+    private long[] durees;
+
+    /**
+     * Nom de chaque fonction native mesurée, dans l'ordre de leur première compilation.
+     */
+    private List<String> fonctions;
+
+    /**
+     * Nombre d'appels de chaque fonction native.
+     */
+    private long[] appels;
+
+    /**
+     * Temps passé dans chaque fonction native, en nanosecondes.
+     */
+    private long[] dureesFonctions;
+
+    /**
+     * Indique si les mesures sont enregistrées. Elles sont suspendues pendant les réexécutions d'un retour en
+     * arrière, y compris pour les fonctions natives dont les mesures ont été préparées à la compilation.
+     */
+    private boolean actif;
+
+    /**
+     * Initialise un profileur pour un programme du nombre de lignes donné.
+     *
+     * @param nombreLignes Nombre de lignes du programme.
+     */
+    public Profileur(int nombreLignes) {
+        this.executions = new long[nombreLignes];
+        this.durees = new long[nombreLignes];
+        this.fonctions = new ArrayList<>();
+        this.appels = new long[0];
+        this.dureesFonctions = new long[0];
+        this.actif = true;
+    }
+
+    /**
+     * Suspend ou reprend l'enregistrement des mesures.
+     *
+     * @param actif Vrai pour enregistrer les mesures, faux pour les suspendre.
+     */
+    public void setActif(boolean actif) {
+        this.actif = actif;
+    }
+
+    /**
+     * Indique si les mesures sont enregistrées.
+     */
+    public boolean estActif() {
+        return this.actif;
+    }
+
+    /**
+     * Enregistre une exécution de la ligne donnée.
+     *
+     * @param ligne Ligne exécutée.
+     * @param duree Durée de l'exécution, en nanosecondes.
+     */
+    public void enregistre(int ligne, long duree) {
+        executions[ligne]++;
+        durees[ligne] += duree;
+    }
+
+    /**
+     * Retourne une fonction mesurant chaque appel à la fonction native donnée. Appelée une seule fois par appel
+     * présent dans le programme, à la compilation ; un programme compilé en Java évalue ces appels par leur noeud.
+     *
+     * @param nom      Nom de la fonction.
+     * @param fonction Fonction à mesurer.
+     * @return La fonction mesurée.
+     */
+    public Fonction mesure(String nom, Fonction fonction) {
+        int indice = fonctions.indexOf(nom);
+        if (indice < 0) {
+            indice = fonctions.size();
+            fonctions.add(nom);
+            appels = Arrays.copyOf(appels, indice + 1);
+            dureesFonctions = Arrays.copyOf(dureesFonctions, indice + 1);
+        }
+
+        return fonction.mesuree(this, indice);
+    }
+
+    /**
+     * Enregistre un appel de la fonction native d'index donné.
+     *
+     * @param indice Index de la fonction, donné par mesure.
+     * @param duree  Durée de l'appel, évaluation des arguments comprise, en nanosecondes.
+     */
+    void enregistreAppel(int indice, long duree) {
+        appels[indice]++;
+        dureesFonctions[indice] += duree;
+    }
+
+    /**
+     * Retourne le nombre d'exécutions de la ligne donnée.
+     *
+     * @param ligne Ligne du programme.
+     */
+    public long getExecutions(int ligne) {
+        return this.executions[ligne];
+    }
+
+    /**
+     * Retourne le temps passé sur la ligne donnée, en nanosecondes.
+     *
+     * @param ligne Ligne du programme.
+     */
+    public long getDuree(int ligne) {
+        return this.durees[ligne];
+    }
+
+    /**
+     * Retourne la couleur de chaleur de la ligne donnée, proportionnelle à la part du temps passé sur cette ligne
+     * par rapport à la ligne la plus coûteuse, ou null si la ligne n'a jamais été exécutée.
+     *
+     * @param ligne Ligne du programme.
+     */
+    public String getCouleur(int ligne) {
+        if (ligne >= durees.length || executions[ligne] == 0) {
+            return null;
+        }
+
+        long max = 1;
+        for (long duree : durees) {
+            max = Math.max(max, duree);
+        }
+
+        int niveau = (int) (durees[ligne] * (COULEURS_CHALEUR.length - 1) / max);
+        return COULEURS_CHALEUR[Math.min(niveau, COULEURS_CHALEUR.length - 1)];
+    }
+
+    /**
+     * Écrit le rapport du profilage : les lignes les plus coûteuses, puis les fonctions natives appelées.
+     *
+     * @param sortie Flux recevant le rapport.
+     * @param lignes Lignes du programme.
+     * @param nombre Nombre maximal de lignes du rapport.
+     */
+    public void rapport(PrintStream sortie, List<String> lignes, int nombre) {
+        long total = 0;
+        Integer[] ordre = new Integer[durees.length];
+        for (int i = 0; i < durees.length; i++) {
+            ordre[i] = i;
+            total += durees[i];
+        }
+
+        Arrays.sort(ordre, (a, b) -> Long.compare(durees[b], durees[a]));
+
+        sortie.println(String.format("%6s %12s %12s %7s %10s  %s", "Ligne", "Exécutions", "Total (ms)", "%", "ns/exéc", "Code"));
+        for (int n = 0; n < Math.min(nombre, ordre.length); n++) {
+            int i = ordre[n];
+            if (executions[i] == 0) {
+                break;
+            }
+
+            sortie.println(String.format("%6d %12d %12.3f %6.1f%% %10d  %s", i + 1, executions[i], durees[i] / 1e6,
+                    total == 0 ? 0 : 100.0 * durees[i] / total, durees[i] / executions[i],
+                    i < lignes.size() ? lignes.get(i).trim() : ""));
+        }
+
+        if (fonctions.isEmpty()) {
+            return;
+        }
+
+        sortie.println();
+        sortie.println(String.format("%-14s %12s %12s %10s", "Fonction", "Appels", "Total (ms)", "ns/appel"));
+        for (int i = 0; i < fonctions.size(); i++) {
+            sortie.println(String.format("%-14s %12d %12.3f %10d", fonctions.get(i), appels[i], dureesFonctions[i] / 1e6,
+                    appels[i] == 0 ? 0 : dureesFonctions[i] / appels[i]));
+        }
+    }
+}
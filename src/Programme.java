@@ -0,0 +1,193 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Représentation d'un algorithme une fois analysé. Le programme contient une instruction par ligne du fichier
+ * source, ce qui permet à l'interpréteur et à l'interface de continuer à raisonner en numéros de ligne.
+ * <p>
+ * Les blocs (si, sinon, fsi, tant que, ftq) sont appariés au chargement : les branchements et retours de boucle se
+ * font ensuite en temps constant. Un saut (un 'si' ou 'tant que' dont la condition est toujours fausse) mène,
+ * comme un 'sinon', juste après l'instruction correspondante.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-01-15
+ */
+public final class Programme {
+    /**
+     * Instructions du programme, indexées par numéro de ligne.
+     */
+    private Instruction[] instructions;
+
+    /**
+     * Table de sauts : pour chaque instruction de bloc, la ligne de l'instruction correspondante, -1 sinon.
+     */
+    private int[] correspondances;
+
+    /**
+     * Pour chaque ligne, la ligne du 'tant que' de la boucle la plus intérieure qui la contient (elle-même pour un
+     * 'tant que'), -1 si elle n'est dans aucune boucle.
+     */
+    private int[] boucles;
+
+    /**
+     * Erreurs de structure détectées au chargement.
+     */
+    private ArrayList<String> erreurs;
+
+    /**
+     * Initialise un programme à partir de ses instructions.
+     *
+     * @param instructions Instructions du programme, une par ligne.
+     */
+    public Programme(Instruction[] instructions) {
+        this.instructions = instructions;
+        this.correspondances = new int[instructions.length];
+        this.boucles = new int[instructions.length];
+        this.erreurs = new ArrayList<>();
+
+        Arrays.fill(correspondances, -1);
+        calculeCorrespondances();
+    }
+
+    /**
+     * Retourne l'instruction de la ligne donnée.
+     *
+     * @param i Numéro de la ligne (à partir de 0).
+     */
+    public Instruction getInstruction(int i) {
+        return instructions[i];
+    }
+
+    /**
+     * Retourne le nombre d'instructions, c'est-à-dire le nombre de lignes du programme.
+     */
+    public int getNombreInstructions() {
+        return instructions.length;
+    }
+
+    /**
+     * Retourne la ligne correspondant à l'instruction de bloc donnée : le 'sinon' ou le 'fsi' d'un 'si', le 'fsi'
+     * d'un 'sinon', le 'ftq' d'un 'tant que' ou le 'tant que' d'un 'ftq'.
+     *
+     * @param ligne Ligne de l'instruction de bloc.
+     * @return La ligne correspondante, ou -1 si le bloc n'est pas fermé.
+     */
+    public int getCorrespondance(int ligne) {
+        return correspondances[ligne];
+    }
+
+    /**
+     * Retourne la ligne du 'tant que' de la boucle la plus intérieure contenant la ligne donnée. Un 'tant que' et
+     * son 'ftq' appartiennent à leur propre boucle.
+     *
+     * @param ligne Ligne du programme.
+     * @return La ligne du 'tant que', ou -1 si la ligne n'est dans aucune boucle.
+     */
+    public int getBoucle(int ligne) {
+        return boucles[ligne];
+    }
+
+    /**
+     * Retourne les erreurs de structure détectées (blocs mal imbriqués ou non fermés). Un programme contenant des
+     * erreurs ne doit pas être exécuté.
+     */
+    public List<String> getErreurs() {
+        return Collections.unmodifiableList(erreurs);
+    }
+
+    /**
+     * Signale une erreur détectée après l'analyse (variable non déclarée par exemple). Comme une erreur de
+     * structure, elle empêche l'exécution du programme.
+     *
+     * @param ligne   Ligne de l'erreur (à partir de 0).
+     * @param message Description de l'erreur.
+     */
+    public void signale(int ligne, String message) {
+        erreur(ligne, message);
+    }
+
+    /**
+     * Associe, en une seule passe, chaque instruction de bloc à l'instruction correspondante, relève les erreurs
+     * d'imbrication et détermine la boucle contenant chaque ligne.
+     */
+    private void calculeCorrespondances() {
+        Deque<Integer> ouverts = new ArrayDeque<>();
+        Deque<Integer> bouclesOuvertes = new ArrayDeque<>();
+
+        for (int i = 0; i < instructions.length; i++) {
+            if (instructions[i].getNature() == Instruction.Nature.TANT_QUE) {
+                bouclesOuvertes.push(i);
+            }
+
+            boucles[i] = bouclesOuvertes.isEmpty() ? -1 : bouclesOuvertes.peek();
+
+            switch (instructions[i].getNature()) {
+                case SI:
+                case TANT_QUE:
+                    ouverts.push(i);
+                    break;
+                case SINON: {
+                    Integer si = ouverts.peek();
+                    if (si == null || instructions[si].getNature() != Instruction.Nature.SI) {
+                        erreur(i, "'sinon' sans 'si' correspondant.");
+                    } else if (correspondances[si] >= 0) {
+                        erreur(i, "second 'sinon' pour le 'si' de la ligne " + (si + 1) + ".");
+                    } else {
+                        correspondances[si] = i;
+                    }
+                    break;
+                }
+                case FSI: {
+                    Integer si = ouverts.peek();
+                    if (si == null || instructions[si].getNature() != Instruction.Nature.SI) {
+                        erreur(i, "'fsi' sans 'si' correspondant.");
+                        break;
+                    }
+
+                    ouverts.pop();
+                    if (correspondances[si] >= 0) {
+                        correspondances[correspondances[si]] = i;
+                    } else {
+                        correspondances[si] = i;
+                    }
+                    break;
+                }
+                case FTQ: {
+                    Integer tantQue = ouverts.peek();
+                    if (tantQue == null || instructions[tantQue].getNature() != Instruction.Nature.TANT_QUE) {
+                        erreur(i, "'ftq' sans 'tant que' correspondant.");
+                        break;
+                    }
+
+                    ouverts.pop();
+                    bouclesOuvertes.pop();
+                    correspondances[tantQue] = i;
+                    correspondances[i] = tantQue;
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+
+        while (!ouverts.isEmpty()) {
+            int ouvert = ouverts.pop();
+            String bloc = instructions[ouvert].getNature() == Instruction.Nature.SI ? "'si'" : "'tant que'";
+            erreur(ouvert, bloc + " jamais fermé.");
+        }
+    }
+
+    /**
+     * Ajoute une erreur de structure.
+     *
+     * @param ligne   Ligne de l'erreur (à partir de 0).
+     * @param message Description de l'erreur.
+     */
+    private void erreur(int ligne, String message) {
+        erreurs.add("Ligne " + (ligne + 1) + " : " + message);
+    }
+}
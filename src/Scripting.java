@@ -1,79 +1,203 @@
 import bsh.Interpreter;
+import bsh.NameSpace;
+
+import java.io.StringReader;
 
 /**
  * Utilisation simple de l'API de scripting de javax.script. Cette classe nous permet d'effectuer des calculs,
  * de vérifier des conditions, tout en utilisant des variables et non forcément des valeurs.
+ * <p>
+ * Les expressions du programme sont compilées par notre propre analyseur (voir AnalyseurExpression) ; BeanShell
+ * n'est plus utilisé qu'en secours, pour les expressions que celui-ci ne sait pas traiter. Il n'est donc instancié
+ * qu'à la première utilisation.
+ * <p>
+ * Les fonctions de la Bibliotheque ne sont déclarées dans BeanShell qu'une seule fois par JVM, dans un espace de
+ * noms prototype. L'interpréteur BeanShell de chaque programme n'en possède qu'un espace enfant, qui reçoit ses
+ * variables : le créer ou le réinitialiser ne coûte que cet espace vide.
+ * <p>
+ * Chaque Interpreteur possède sa propre instance : aucun état n'est partagé entre deux programmes, qui peuvent
+ * ainsi s'exécuter en parallèle dans une même JVM.
  *
  * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
- * @version 1.1 2018-12-20
+ * @version 1.3 2019-03-12
  */
 public final class Scripting {
     /**
-     * Interpreteur de code Java.
+     * Espace de noms BeanShell contenant les fonctions de la Bibliotheque, commun à tous les interpréteurs.
+     * Construit à la première utilisation de BeanShell.
      */
-    private static Interpreter interpreter;
+    private static NameSpace prototype;
+
+    /**
+     * Interpreteur de code Java. Instancié à la première utilisation.
+     */
+    private Interpreter interpreter;
 
     /**
      * Notre interpreteur.
      */
-    private static Interpreteur interpreteur;
+    private Interpreteur interpreteur;
 
     /**
-     * Constructeur static afin d'instancier notre interpreteur au début du runtime.
+     * Initialise le contexte d'évaluation d'un interpréteur.
+     *
+     * @param interpreteur Interpréteur dont les variables sont utilisées par les expressions.
      */
-    static {
-        interpreter = new Interpreter();
-        creerFonctions();
+    public Scripting(Interpreteur interpreteur) {
+        this.interpreteur = interpreteur;
     }
 
     /**
-     * Constructeur privé pour empêcher toute instanciation de la classe.
+     * Réinitialise l'interpreteur BeanShell : seul l'espace contenant les variables du programme est remplacé.
      */
-    private Scripting() {
+    public void reset() {
+        long debut = Metriques.debut();
+        if (interpreter != null) {
+            interpreter.setNameSpace(new NameSpace(getPrototype(), "programme"));
+        }
 
+        Metriques.duree("scripting.reset", debut);
     }
 
     /**
-     * Réinitialise l'interpreteur BeanShell.
+     * Retourne l'interpreteur BeanShell, en le créant si nécessaire.
      */
-    public static void reset() {
-        interpreter = new Interpreter();
-        creerFonctions();
+    private Interpreter getInterpreter() {
+        if (interpreter == null) {
+            long debut = Metriques.debut();
+            interpreter = new Interpreter(new StringReader(""), System.out, System.err, false,
+                    new NameSpace(getPrototype(), "programme"));
+            Metriques.duree("scripting.creation", debut);
+        }
+
+        return interpreter;
     }
 
     /**
-     * Méthode ajoutant toutes les différentes fonctions utiles.
+     * Retourne l'espace de noms prototype, en le créant si nécessaire.
      */
-    public static void creerFonctions() {
+    private static synchronized NameSpace getPrototype() {
+        if (prototype == null) {
+            long debut = Metriques.debut();
+            Interpreter bsh = new Interpreter();
+            creerFonctions(bsh);
+            prototype = bsh.getNameSpace();
+            Metriques.duree("scripting.prototype", debut);
+        }
+
+        return prototype;
+    }
+
+    /**
+     * Méthode ajoutant toutes les différentes fonctions utiles : chaque fonction de la Bibliotheque est déclarée
+     * dans BeanShell par une méthode qui lui délègue l'appel, pour que les expressions évaluées en secours disposent
+     * des mêmes fonctions que les autres.
+     *
+     * @param bsh Interpréteur dans lequel les fonctions sont déclarées.
+     */
+    private static void creerFonctions(Interpreter bsh) {
         try {
-            interpreter.eval("public static int hasard(int i) { return (int)(Math.random() * i); }");
-            interpreter.eval("public static boolean estEntier(String entier) { try { Integer.parseInt(entier); return true; } catch (Exception e) { return false; } }");
-            interpreter.eval("public static char car(String entier) { int val = Integer.valueOf(entier); return (char) val; }");
-            interpreter.eval("public static int ord(String car) { return (int) car.charAt(0); }");
-            interpreter.eval("public static String enChaine(String entier) { return entier; }");
-            interpreter.eval("public static int enEntier(String chaine) { return Integer.valueOf(chaine); }");
-            interpreter.eval("public static double enReel(String chaine) { return Double.valueOf(chaine); }");
-            interpreter.eval("public static int plafond(String reel) { double val = Double.valueOf(reel); return ((int) val) + 1; }");
-            interpreter.eval("public static int plancher(String reel) { double val = Double.valueOf(reel); return (int) val; }");
-            interpreter.eval("public static int arrondi(String reelBase) { double reel = Double.valueOf(reelBase); if (reel - ((int) reel) > 0.5) { return plafond(reelBase); } return plancher(reelBase); }");
-            interpreter.eval("public static String aujourdhui() { SimpleDateFormat formater = new SimpleDateFormat(\"dd/MM/yyyy\"); return formater.format(new Date()); }");
-            interpreter.eval("public static String jour(String date) { return date.split(\"/\")[0]; }");
-            interpreter.eval("public static String mois(String date) { return date.split(\"/\")[1]; }");
-            interpreter.eval("public static String annee(String date) { return date.split(\"/\")[2]; }");
-            interpreter.eval("public static boolean estReel(String reel) { try { Double.parseDouble(reel.replace(\",\", \".\")); return true; } catch (Exception e) { return false; } }");
-            interpreter.eval("public static String ecrire(Object message) { return message.toString(); }");
+            for (Fonction fonction : Bibliotheque.getFonctions()) {
+                StringBuilder parametres = new StringBuilder();
+                for (int i = 0; i < fonction.getParametres().length; i++) {
+                    parametres.append(i > 0 ? ", " : "").append('a').append(i);
+                }
+
+                bsh.eval(fonction.getNom() + "(" + parametres + ") { return Bibliotheque.getFonction(\""
+                        + fonction.getNom() + "\").appelle(new Object[]{" + parametres + "}); }");
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Change l'instance de notre interprêteur dans cette classe.
+     * Compile le texte d'une expression. Si notre analyseur ne la reconnaît pas, elle sera évaluée par BeanShell.
      *
-     * @param i Instance de l'Interpreteur.
+     * @param texte Texte de l'expression.
+     * @return L'expression compilée.
      */
-    public static void setInterpreteur(Interpreteur i) {
-        interpreteur = i;
+    public Expression compile(String texte) {
+        try {
+            return AnalyseurExpression.compile(texte, interpreteur);
+        } catch (IllegalArgumentException e) {
+            return new Expression.BeanShell(texte, this);
+        }
+    }
+
+    /**
+     * Compile les arguments d'un appel à ecrire en une seule expression concaténant leurs valeurs.
+     *
+     * @param arguments Texte de chacun des arguments.
+     * @return L'expression compilée.
+     */
+    public Expression compileEcriture(String[] arguments) {
+        StringBuilder texte = new StringBuilder();
+        for (String argument : arguments) {
+            if (texte.length() > 0) {
+                texte.append(" + ");
+            }
+
+            texte.append('(').append(argument).append(')');
+        }
+
+        return compile(texte.toString());
+    }
+
+    /**
+     * Évalue la condition compilée donnée et retourne un booléen en fonction de son résultat.
+     *
+     * @param condition Condition à évaluer.
+     */
+    public boolean evalue(Expression condition) {
+        long debut = Metriques.debut();
+        try {
+            return condition.evalueBooleen();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            Metriques.duree("scripting.evalue", debut);
+        }
+    }
+
+    /**
+     * Effectue le calcul compilé donné et retourne son résultat.
+     *
+     * @param calcul Calcul à effectuer.
+     */
+    public Object calcule(Expression calcul) {
+        long debut = Metriques.debut();
+        try {
+            return calcul.evalue();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            Metriques.duree("scripting.calcule", debut);
+        }
+    }
+
+    /**
+     * Évalue une expression avec BeanShell, après lui avoir transmis la valeur courante de chaque variable.
+     *
+     * @param texte Texte de l'expression.
+     * @return La valeur de l'expression.
+     */
+    public Object calculeBeanShell(String texte) {
+        long debut = Metriques.debut();
+        try {
+            Interpreter bsh = getInterpreter();
+            for (Variable v : interpreteur.getVariables()) {
+                bsh.set(v.getNom(), v.getContenu());
+            }
+
+            return bsh.eval(texte);
+        } catch (Exception e) {
+            throw new IllegalStateException("Impossible d'évaluer : " + texte, e);
+        } finally {
+            Metriques.duree("scripting.beanshell", debut);
+        }
     }
 
     /**
@@ -82,17 +206,20 @@ public final class Scripting {
      * @param nom    Nom de la variable à modifier.
      * @param valeur Nouvelle valeur de cette variable.
      */
-    public static Object modifieVariable(String nom, String valeur) {
+    public Object modifieVariable(String nom, String valeur) {
+        long debut = Metriques.debut();
         try {
             if (valeur.length() == 0) {
                 valeur = "\"\"";
             }
 
-            interpreter.eval(nom + "=" + valeur);
-            return (Object) interpreter.eval(nom);
+            getInterpreter().eval(nom + "=" + valeur);
+            return getInterpreter().eval(nom);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
+        } finally {
+            Metriques.duree("scripting.modifieVariable", debut);
         }
     }
 
@@ -101,27 +228,33 @@ public final class Scripting {
      *
      * @param condition Condition à évaluer.
      */
-    public static boolean evalue(String condition) {
+    public boolean evalue(String condition) {
+        long debut = Metriques.debut();
         try {
-            return (boolean) interpreter.eval(condition);
+            return (boolean) getInterpreter().eval(condition);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
+        } finally {
+            Metriques.duree("scripting.evalue", debut);
         }
     }
 
     /**
      * Effectue un calcul et retourne son résultat. Si celui utilise des variables et qu'elles sont modifiées,
-     * le changement s'appliquera comme si la méthode Scripting.modifieVariable avait été appelée.
+     * le changement s'appliquera comme si la méthode modifieVariable avait été appelée.
      *
      * @param calcul Calcul à effectuer.
      */
-    public static Object calcule(String calcul) {
+    public Object calcule(String calcul) {
+        long debut = Metriques.debut();
         try {
-            return interpreter.eval(calcul);
+            return getInterpreter().eval(calcul);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
+        } finally {
+            Metriques.duree("scripting.calcule", debut);
         }
     }
 
@@ -131,29 +264,16 @@ public final class Scripting {
      * @param ligne Ligne à examiner pour l'exécuter.
      * @return Valeur de la méthode.
      */
-    public static Object execute(String ligne) {
-        ligne = nettoie(ligne);
-
+    public Object execute(String ligne) {
+        long debut = Metriques.debut();
         try {
-            return interpreter.eval(ligne);
+            return getInterpreter().eval(ligne);
         } catch (Exception e) {
             e.printStackTrace();
 
             return null;
+        } finally {
+            Metriques.duree("scripting.execute", debut);
         }
     }
-
-    /**
-     * Nettoie un message de ses caractères spéciaux et accents.
-     *
-     * @param message Message à nettoyer.
-     * @return Le message nettoyé.
-     */
-    private static String nettoie(String message) {
-        return message.replace("é", "e").replace("è", "e").replace("ê", "e").replace("ë", "e")
-                .replace("à", "a").replace("â", "a").replace("ä", "a")
-                .replace("ì", "i").replace("î", "i").replace("ï", "i")
-                .replace("ò", "o").replace("ô", "o").replace("ö", "o")
-                .replace("'", "");
-    }
 }
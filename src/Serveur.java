@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serveur local de sessions pas à pas. Chaque connexion TCP, acceptée uniquement depuis la machine locale, ouvre une
+ * Session indépendante pilotée par un protocole ligne à ligne ; un seul processus peut ainsi accueillir les
+ * sessions de nombreux utilisateurs.
+ * <p>
+ * Les sessions s'exécutent sur des threads virtuels lorsque la JVM en dispose (Java 21 et suivants), et sur des
+ * threads classiques sinon.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-19
+ */
+public final class Serveur {
+    /**
+     * Port d'écoute par défaut.
+     */
+    public static final int PORT_DEFAUT = 4646;
+
+    /**
+     * Durée maximale par défaut de chaque exécution sans surveillance d'une session, en millisecondes. Sans elle, une
+     * boucle infinie occuperait le thread de sa session jusqu'à l'arrêt du serveur.
+     */
+    public static final long DUREE_DEFAUT = 10_000;
+
+    /**
+     * Socket d'écoute.
+     */
+    private ServerSocket socket;
+
+    /**
+     * Exécuteur sur lequel tournent les sessions, un thread par session.
+     */
+    private ExecutorService sessions;
+
+    /**
+     * Limites appliquées aux exécutions sans surveillance de chaque session.
+     */
+    private Budget budget;
+
+    /**
+     * Ouvre le serveur sur le port donné de l'interface locale ; chaque exécution sans surveillance des sessions est
+     * limitée à DUREE_DEFAUT.
+     *
+     * @param port Port d'écoute.
+     * @throws IOException Si le port ne peut pas être ouvert.
+     */
+    public Serveur(int port) throws IOException {
+        this(port, new Budget(0, DUREE_DEFAUT, 0, 0));
+    }
+
+    /**
+     * Ouvre le serveur sur le port donné de l'interface locale.
+     *
+     * @param port   Port d'écoute.
+     * @param budget Limites appliquées aux exécutions sans surveillance de chaque session.
+     * @throws IOException Si le port ne peut pas être ouvert.
+     */
+    public Serveur(int port, Budget budget) throws IOException {
+        this.socket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.sessions = creerExecuteur();
+        this.budget = budget;
+    }
+
+    /**
+     * Retourne un exécuteur créant un thread virtuel par tâche si la JVM le permet, ou un thread classique sinon.
+     * Les threads virtuels sont obtenus par réflexion afin que le projet reste compilable en Java 8.
+     */
+    private static ExecutorService creerExecuteur() {
+        try {
+            Method methode = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) methode.invoke(null);
+        } catch (Exception e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Retourne le port d'écoute.
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Accepte les connexions jusqu'à la fermeture du serveur, chacune ouvrant une nouvelle session.
+     */
+    public void demarrer() {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                sessions.execute(new Session(client, budget));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ferme le serveur. Les sessions en cours se terminent à la déconnexion de leur client.
+     */
+    public void fermer() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        sessions.shutdown();
+    }
+
+    /**
+     * Point d'entrée du serveur.
+     * <p>
+     * Utilisation : {@code Serveur [-p port] [-m] [-n etapes] [-w ms] [-nb etapes] [-wb ms]}. L'option -m active
+     * l'enregistrement des Metriques, consultables par la commande 'metriques' d'une session. Les options -n, -w, -nb
+     * et -wb fixent le Budget des commandes 'continuer', 'finir' et 'ligne' de chaque session, limitées par défaut à
+     * DUREE_DEFAUT ({@code -w 0} supprime cette limite).
+     *
+     * @param args Options du serveur.
+     */
+    public static void main(String[] args) {
+        int port = PORT_DEFAUT;
+        Budget budget = new Budget(0, DUREE_DEFAUT, 0, 0);
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-p")) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-m")) {
+                Metriques.activer(true);
+            } else if (i + 1 < args.length && budget.option(args[i], args[i + 1])) {
+                i++;
+            }
+        }
+
+        try {
+            Serveur serveur = new Serveur(port, budget);
+            System.out.println("Serveur à l'écoute sur le port " + serveur.getPort());
+            serveur.demarrer();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Session pas à pas d'un client du Serveur. Le client envoie une commande par ligne ; chaque commande reçoit une
+ * réponse JSON sur une ligne, contenant l'état de l'exécution ou un message d'erreur.
+ * <p>
+ * Commandes reconnues :
+ * <ul>
+ * <li>{@code charger chemin} : charge et prépare le programme donné ;</li>
+ * <li>{@code pas} : exécute la ligne courante ;</li>
+ * <li>{@code continuer} : exécute sans s'arrêter jusqu'au prochain point d'arrêt déclenché ;</li>
+ * <li>{@code finir} : termine, sans s'arrêter, la boucle contenant la ligne courante ;</li>
+ * <li>{@code arret N [condition]} : pose un point d'arrêt sur la ligne N, éventuellement conditionnel, ou retire
+ * celui qui s'y trouve si aucune condition n'est donnée ;</li>
+ * <li>{@code espion expression} : espionne l'expression donnée, ou cesse de l'espionner si elle l'est déjà ;</li>
+ * <li>{@code retour} : revient une étape en arrière ;</li>
+ * <li>{@code ligne N} : se place avant la première exécution de la ligne N ;</li>
+ * <li>{@code saisie texte} : fournit une valeur au prochain lire() ;</li>
+ * <li>{@code etat} : retourne l'état sans rien exécuter ;</li>
+ * <li>{@code metriques} : retourne les Metriques du serveur ;</li>
+ * <li>{@code quitter} : ferme la session.</li>
+ * </ul>
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-19
+ */
+public final class Session implements Runnable {
+    /**
+     * Nombre d'entrées de chaque trace conservées en mémoire. Le client ne consulte que les dernières lignes de la
+     * console ; une petite capacité limite la mémoire occupée par une session inactive.
+     */
+    private static final int CAPACITE_TRACES = 64;
+
+    /**
+     * Nombre de lignes de la console renvoyées dans l'état.
+     */
+    private static final int LIGNES_CONSOLE = 3;
+
+    /**
+     * Connexion avec le client.
+     */
+    private Socket client;
+
+    /**
+     * Interpréteur du programme chargé, ou null si aucun programme n'a été chargé.
+     */
+    private Interpreteur interpreteur;
+
+    /**
+     * Limites appliquées aux exécutions sans surveillance.
+     */
+    private Budget budget;
+
+    /**
+     * Initialise une session pour le client donné.
+     *
+     * @param client Connexion avec le client.
+     * @param budget Limites appliquées aux exécutions sans surveillance.
+     */
+    public Session(Socket client, Budget budget) {
+        this.client = client;
+        this.budget = budget;
+    }
+
+    /**
+     * Traite les commandes du client jusqu'à sa déconnexion.
+     */
+    @Override
+    public void run() {
+        try (Socket connexion = client;
+             BufferedReader entree = new BufferedReader(new InputStreamReader(connexion.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter sortie = new PrintWriter(new OutputStreamWriter(connexion.getOutputStream(), StandardCharsets.UTF_8))) {
+            String ligne;
+            while ((ligne = entree.readLine()) != null) {
+                String commande = ligne.trim();
+                if (commande.equals("quitter")) {
+                    break;
+                }
+
+                sortie.println(traite(commande));
+                sortie.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (interpreteur != null) {
+                interpreteur.getTraceExecution().ferme();
+                interpreteur.getVariablesTracees().ferme();
+            }
+        }
+    }
+
+    /**
+     * Exécute une commande et retourne la réponse à envoyer au client.
+     *
+     * @param commande Commande reçue.
+     * @return La réponse, au format JSON.
+     */
+    private String traite(String commande) {
+        int espace = commande.indexOf(' ');
+        String nom = espace < 0 ? commande : commande.substring(0, espace);
+        String argument = espace < 0 ? "" : commande.substring(espace + 1).trim();
+
+        try {
+            if (nom.equals("charger")) {
+                return charge(argument);
+            } else if (nom.equals("metriques")) {
+                return metriques();
+            }
+
+            if (interpreteur == null) {
+                return erreur("Aucun programme chargé.");
+            }
+
+            switch (nom) {
+                case "pas":
+                    if (interpreteur.estTermine()) {
+                        return erreur("Le programme est terminé.");
+                    } else if (interpreteur.attendSaisie()) {
+                        return erreur("Une saisie est attendue.");
+                    }
+
+                    interpreteur.pas();
+                    break;
+                case "continuer":
+                    if (interpreteur.estTermine()) {
+                        return erreur("Le programme est terminé.");
+                    } else if (interpreteur.attendSaisie()) {
+                        return erreur("Une saisie est attendue.");
+                    }
+
+                    interpreteur.continuer();
+                    break;
+                case "finir":
+                    if (interpreteur.estTermine()) {
+                        return erreur("Le programme est terminé.");
+                    }
+
+                    interpreteur.finirBoucle();
+                    break;
+                case "arret":
+                    return arret(argument);
+                case "espion":
+                    interpreteur.basculerEspion(argument);
+                    break;
+                case "retour":
+                    interpreteur.revenirA(interpreteur.getEtape() - 1);
+                    break;
+                case "ligne":
+                    interpreteur.allerALigne(Integer.parseInt(argument) - 1);
+                    break;
+                case "saisie":
+                    interpreteur.ajouterSaisie(argument);
+                    break;
+                case "etat":
+                    break;
+                default:
+                    return erreur("Commande inconnue : " + nom);
+            }
+
+            return etat();
+        } catch (Exception e) {
+            return erreur(e.toString());
+        }
+    }
+
+    /**
+     * Pose ou retire un point d'arrêt : {@code arret N} bascule le point d'arrêt de la ligne N, {@code arret N
+     * condition} pose un point d'arrêt conditionnel.
+     *
+     * @param argument Numéro de ligne, suivi éventuellement de la condition.
+     * @return La réponse à envoyer au client.
+     */
+    private String arret(String argument) {
+        int espace = argument.indexOf(' ');
+        int ligne = Integer.parseInt(espace < 0 ? argument : argument.substring(0, espace)) - 1;
+        String condition = espace < 0 ? "" : argument.substring(espace + 1).trim();
+
+        try {
+            if (!(condition.isEmpty() && interpreteur.retirerPointArret(ligne))
+                    && interpreteur.ajouterPointArret(ligne, condition) == null) {
+                return erreur("Ligne inexistante : " + (ligne + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            return erreur(e.getMessage());
+        }
+
+        return etat();
+    }
+
+    /**
+     * Charge et prépare le programme donné, en remplacement du programme courant.
+     *
+     * @param chemin Chemin vers le fichier à interprêter.
+     * @return La réponse à envoyer au client.
+     */
+    private String charge(String chemin) {
+        if (!new File(chemin).isFile()) {
+            return erreur("Fichier introuvable : " + chemin);
+        }
+
+        Interpreteur nouveau = Interpreteur.pilote(chemin);
+        nouveau.configurerTraces(CAPACITE_TRACES, false);
+        nouveau.configurerBudget(budget);
+        if (!nouveau.preparer()) {
+            return erreur(String.join(" ; ", nouveau.getErreurs()));
+        }
+
+        interpreteur = nouveau;
+        return etat();
+    }
+
+    /**
+     * Retourne l'état de l'exécution, au format JSON.
+     */
+    private String etat() {
+        StringBuilder json = new StringBuilder("{\"ok\":true");
+        json.append(",\"etape\":").append(interpreteur.getEtape());
+        json.append(",\"ligne\":").append(interpreteur.getNumLigneTraitee() + 1);
+        json.append(",\"termine\":").append(interpreteur.estTermine());
+        json.append(",\"attente\":").append(interpreteur.attendSaisie());
+
+        DepassementBudget depassement = interpreteur.getDepassement();
+        json.append(",\"depassement\":").append(depassement == null ? "null" : chaine(depassement.getMessage()));
+
+        json.append(",\"arrets\":[");
+        List<PointArret> points = interpreteur.getPointsArret();
+        for (int i = 0; i < points.size(); i++) {
+            PointArret point = points.get(i);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"ligne\":").append(point.getLigne() + 1)
+                    .append(",\"condition\":").append(point.getCondition() == null ? "null" : chaine(point.getCondition()))
+                    .append('}');
+        }
+
+        json.append("],\"espions\":[");
+        List<Espion> espions = interpreteur.getEspions();
+        for (int i = 0; i < espions.size(); i++) {
+            Espion espion = espions.get(i);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"expression\":").append(chaine(espion.getTexte()))
+                    .append(",\"valeur\":").append(chaine(espion.getValeur())).append('}');
+        }
+
+        json.append("],\"variables\":[");
+        List<Variable> variables = interpreteur.getVariables();
+        for (int i = 0; i < variables.size(); i++) {
+            Variable v = variables.get(i);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"nom\":").append(chaine(v.getNom()))
+                    .append(",\"type\":").append(chaine(v.getType()))
+                    .append(",\"valeur\":").append(chaine(v.getValeur())).append('}');
+        }
+
+        json.append("],\"console\":[");
+        TraceExecution console = interpreteur.getTraceExecution();
+        int debut = Math.max(0, console.getTaille() - LIGNES_CONSOLE);
+        for (int i = debut; i < console.getTaille(); i++) {
+            String message = console.get(i);
+            json.append(i > debut ? "," : "").append(chaine(message == null ? "" : message));
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Retourne les mesures du registre de Metriques, au format JSON.
+     */
+    private static String metriques() {
+        StringBuilder json = new StringBuilder("{\"ok\":true,\"actif\":").append(Metriques.estActif());
+        json.append(",\"mesures\":[");
+
+        boolean premiere = true;
+        for (Mesure mesure : Metriques.getMesures()) {
+            json.append(premiere ? "" : ",")
+                    .append("{\"nom\":").append(chaine(mesure.getNom()))
+                    .append(",\"nombre\":").append(mesure.getNombre())
+                    .append(",\"somme\":").append(mesure.getSomme())
+                    .append(",\"p50\":").append(mesure.getQuantile(0.5))
+                    .append(",\"p99\":").append(mesure.getQuantile(0.99))
+                    .append(",\"max\":").append(mesure.getMaximum()).append('}');
+            premiere = false;
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Retourne une réponse d'erreur, au format JSON.
+     *
+     * @param message Message d'erreur.
+     */
+    private static String erreur(String message) {
+        return "{\"ok\":false,\"erreur\":" + chaine(message) + "}";
+    }
+
+    /**
+     * Retourne le texte donné sous forme de chaîne JSON.
+     *
+     * @param texte Texte à encoder.
+     */
+    private static String chaine(String texte) {
+        StringBuilder json = new StringBuilder("\"");
+
+        for (int i = 0; i < texte.length(); i++) {
+            char c = texte.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                    break;
+            }
+        }
+
+        return json.append('"').toString();
+    }
+}
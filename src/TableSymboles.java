@@ -0,0 +1,71 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Table des symboles d'un programme. Les variables y sont indexées par leur nom, pour une recherche en temps
+ * constant, tout en conservant leur ordre de déclaration pour l'affichage.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-02-19
+ */
+public final class TableSymboles {
+    /**
+     * Variables indexées par leur nom.
+     */
+    private HashMap<String, Variable> parNom;
+
+    /**
+     * Variables dans leur ordre de déclaration.
+     */
+    private ArrayList<Variable> parOrdre;
+
+    /**
+     * Initialise une table des symboles vide.
+     */
+    public TableSymboles() {
+        this.parNom = new HashMap<>();
+        this.parOrdre = new ArrayList<>();
+    }
+
+    /**
+     * Ajoute une variable à la table. Si une variable du même nom a déjà été déclarée, elle est conservée.
+     *
+     * @param variable Variable à ajouter.
+     * @return Vrai si la variable a été ajoutée, faux si son nom était déjà déclaré.
+     */
+    public boolean ajoute(Variable variable) {
+        if (parNom.containsKey(variable.getNom())) {
+            return false;
+        }
+
+        parNom.put(variable.getNom(), variable);
+        parOrdre.add(variable);
+        return true;
+    }
+
+    /**
+     * Retourne la variable portant le nom donné.
+     *
+     * @param nom Nom de la variable.
+     * @return La variable, ou null si elle n'a pas été déclarée.
+     */
+    public Variable cherche(String nom) {
+        return parNom.get(nom);
+    }
+
+    /**
+     * Retourne les variables dans leur ordre de déclaration.
+     */
+    public List<Variable> getVariables() {
+        return Collections.unmodifiableList(parOrdre);
+    }
+
+    /**
+     * Retourne le nombre de variables déclarées.
+     */
+    public int getTaille() {
+        return parOrdre.size();
+    }
+}
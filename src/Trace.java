@@ -0,0 +1,194 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Trace bornée : seules les 'capacite' dernières entrées sont conservées en mémoire, dans un tampon circulaire.
+ * Les entrées plus anciennes sont soit oubliées, soit écrites dans un Debordement sur disque d'où elles peuvent
+ * être relues.
+ * <p>
+ * Les entrées sont numérotées depuis le début de l'exécution. Celles d'index compris entre 'plusAncienne' et
+ * 'taille' sont en mémoire, à l'emplacement 'index % capacite' ; celles d'index inférieur sont, s'il y en a un,
+ * dans le débordement. Chaque sous-classe stocke ses entrées dans ses propres tableaux, de taille 'capacite + 1' :
+ * le dernier emplacement sert à relire une entrée depuis le disque sans écraser le tampon.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public abstract class Trace {
+    /**
+     * Nombre d'entrées conservées en mémoire par défaut.
+     */
+    public static final int CAPACITE_DEFAUT = 1024;
+
+    /**
+     * Nombre maximal d'entrées conservées en mémoire.
+     */
+    protected final int capacite;
+
+    /**
+     * Nombre d'entrées ajoutées depuis le début de l'exécution.
+     */
+    private int taille;
+
+    /**
+     * Index de la plus ancienne entrée encore en mémoire.
+     */
+    private int plusAncienne;
+
+    /**
+     * Débordement sur disque des entrées chassées de la mémoire, ou null si elles sont oubliées.
+     */
+    private Debordement debordement;
+
+    /**
+     * Tampon servant à encoder une entrée avant son écriture sur disque.
+     */
+    private ByteArrayOutputStream tampon;
+
+    /**
+     * Initialise une trace vide.
+     *
+     * @param capacite  Nombre maximal d'entrées conservées en mémoire (au moins 1).
+     * @param surDisque Indique si les entrées chassées de la mémoire sont conservées sur disque.
+     */
+    protected Trace(int capacite, boolean surDisque) {
+        this.capacite = Math.max(1, capacite);
+        this.taille = 0;
+        this.plusAncienne = 0;
+
+        if (surDisque) {
+            try {
+                this.debordement = new Debordement();
+                this.tampon = new ByteArrayOutputStream();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre d'entrées ajoutées depuis le début de l'exécution.
+     */
+    public int getTaille() {
+        return this.taille;
+    }
+
+    /**
+     * Réserve la place d'une nouvelle entrée à la fin de la trace, en chassant si besoin la plus ancienne.
+     *
+     * @return L'emplacement où la sous-classe doit écrire l'entrée.
+     */
+    protected final int ajoute() {
+        if (taille - plusAncienne == capacite) {
+            if (debordement != null) {
+                try {
+                    tampon.reset();
+                    encode(plusAncienne % capacite, new DataOutputStream(tampon));
+                    debordement.ajoute(tampon.toByteArray(), tampon.size());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    ferme();
+                }
+            }
+
+            plusAncienne++;
+        }
+
+        return taille++ % capacite;
+    }
+
+    /**
+     * Retourne l'emplacement de l'entrée d'index donné, en la relisant depuis le disque si besoin.
+     *
+     * @param i Index de l'entrée.
+     * @return L'emplacement de l'entrée, ou -1 si elle n'existe pas ou a été oubliée.
+     */
+    protected final int emplacement(int i) {
+        if (i < 0 || i >= taille) {
+            return -1;
+        }
+
+        if (i >= plusAncienne) {
+            return i % capacite;
+        }
+
+        if (debordement == null) {
+            return -1;
+        }
+
+        try {
+            decode(capacite, debordement.lis(i));
+            return capacite;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Ne conserve que les premières entrées de la trace. Si des entrées conservées avaient été chassées sur disque,
+     * elles sont rechargées en mémoire.
+     *
+     * @param nouvelleTaille Nombre d'entrées conservées.
+     */
+    public void tronque(int nouvelleTaille) {
+        if (nouvelleTaille >= taille) {
+            return;
+        }
+
+        taille = Math.max(0, nouvelleTaille);
+        if (plusAncienne <= taille) {
+            return;
+        }
+
+        if (debordement == null) {
+            plusAncienne = taille;
+            return;
+        }
+
+        int debut = Math.max(0, taille - capacite);
+        try {
+            for (int i = debut; i < taille; i++) {
+                decode(i % capacite, debordement.lis(i));
+            }
+
+            debordement.tronque(debut);
+            plusAncienne = debut;
+        } catch (IOException e) {
+            e.printStackTrace();
+            ferme();
+            plusAncienne = taille;
+        }
+    }
+
+    /**
+     * Libère le débordement sur disque, s'il y en a un. Les entrées qui y avaient été chassées sont alors perdues.
+     */
+    public void ferme() {
+        if (debordement != null) {
+            debordement.ferme();
+            debordement = null;
+        }
+    }
+
+    /**
+     * Encode l'entrée à l'emplacement donné, afin de l'écrire sur disque.
+     *
+     * @param emplacement Emplacement de l'entrée.
+     * @param sortie      Flux recevant l'entrée encodée.
+     * @throws IOException Si l'écriture échoue.
+     */
+    protected abstract void encode(int emplacement, DataOutput sortie) throws IOException;
+
+    /**
+     * Décode une entrée relue depuis le disque et l'écrit à l'emplacement donné.
+     *
+     * @param emplacement Emplacement où écrire l'entrée.
+     * @param entree      Flux contenant l'entrée encodée.
+     * @throws IOException Si la lecture échoue.
+     */
+    protected abstract void decode(int emplacement, DataInput entree) throws IOException;
+}
@@ -0,0 +1,64 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Trace d'exécution affichée dans la console : messages de ecrire(), valeurs lues par lire() et commandes saisies.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class TraceExecution extends Trace {
+    /**
+     * Messages de la trace, indexés par emplacement.
+     */
+    private String[] messages;
+
+    /**
+     * Initialise une trace d'exécution vide.
+     *
+     * @param capacite  Nombre maximal de messages conservés en mémoire.
+     * @param surDisque Indique si les messages chassés de la mémoire sont conservés sur disque.
+     */
+    public TraceExecution(int capacite, boolean surDisque) {
+        super(capacite, surDisque);
+        this.messages = new String[this.capacite + 1];
+    }
+
+    /**
+     * Ajoute un message à la fin de la trace.
+     *
+     * @param message Message à ajouter.
+     */
+    public void ajoute(String message) {
+        messages[ajoute()] = message;
+    }
+
+    /**
+     * Retourne le message d'index donné.
+     *
+     * @param i Index du message, depuis le début de l'exécution.
+     * @return Le message, ou null s'il n'existe pas ou a été oublié.
+     */
+    public String get(int i) {
+        int emplacement = emplacement(i);
+        return emplacement < 0 ? null : messages[emplacement];
+    }
+
+    @Override
+    protected void encode(int emplacement, DataOutput sortie) throws IOException {
+        String message = messages[emplacement];
+        sortie.writeInt(message.length());
+        sortie.writeChars(message);
+    }
+
+    @Override
+    protected void decode(int emplacement, DataInput entree) throws IOException {
+        char[] caracteres = new char[entree.readInt()];
+        for (int i = 0; i < caracteres.length; i++) {
+            caracteres[i] = entree.readChar();
+        }
+
+        messages[emplacement] = new String(caracteres);
+    }
+}
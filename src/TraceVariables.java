@@ -0,0 +1,172 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Trace des variables : chaque entrée retient la variable affectée, la ligne de l'affectation et la nouvelle
+ * valeur. Les valeurs de type entier, réel, booléen et caractère sont stockées sous forme primitive dans un
+ * tableau de long ; seules les chaînes et les valeurs d'autres types occupent une référence.
+ *
+ * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
+ * @version 1.0 2019-03-05
+ */
+public final class TraceVariables extends Trace {
+    /**
+     * Table des symboles, permettant de retrouver une variable relue depuis le disque à partir de son nom.
+     */
+    private TableSymboles table;
+
+    /**
+     * Variable affectée par chaque entrée.
+     */
+    private Variable[] variables;
+
+    /**
+     * Ligne de chaque affectation.
+     */
+    private int[] lignes;
+
+    /**
+     * Valeur de chaque entrée dont la variable est de type primitif (les réels y sont stockés bit à bit).
+     */
+    private long[] primitives;
+
+    /**
+     * Valeur de chaque entrée dont la variable est une chaîne ou d'un autre type.
+     */
+    private Object[] objets;
+
+    /**
+     * Initialise une trace des variables vide.
+     *
+     * @param table     Table des symboles du programme.
+     * @param capacite  Nombre maximal d'entrées conservées en mémoire.
+     * @param surDisque Indique si les entrées chassées de la mémoire sont conservées sur disque.
+     */
+    public TraceVariables(TableSymboles table, int capacite, boolean surDisque) {
+        super(capacite, surDisque);
+        this.table = table;
+        this.variables = new Variable[this.capacite + 1];
+        this.lignes = new int[this.capacite + 1];
+        this.primitives = new long[this.capacite + 1];
+        this.objets = new Object[this.capacite + 1];
+    }
+
+    /**
+     * Ajoute à la trace la valeur actuelle de la variable donnée.
+     *
+     * @param variable Variable venant d'être affectée.
+     * @param ligne    Ligne de l'affectation.
+     */
+    public void ajoute(Variable variable, int ligne) {
+        int emplacement = ajoute();
+        Cadre cadre = variable.getCadre();
+        int i = variable.getEmplacement();
+
+        variables[emplacement] = variable;
+        lignes[emplacement] = ligne;
+        objets[emplacement] = null;
+
+        switch (variable.getStockage()) {
+            case ENTIER:
+                primitives[emplacement] = cadre.entiers[i];
+                break;
+            case REEL:
+                primitives[emplacement] = Double.doubleToRawLongBits(cadre.reels[i]);
+                break;
+            case BOOLEEN:
+                primitives[emplacement] = cadre.booleens[i] ? 1 : 0;
+                break;
+            case CARACTERE:
+                primitives[emplacement] = cadre.caracteres[i];
+                break;
+            case CHAINE:
+                objets[emplacement] = cadre.chaines[i];
+                break;
+            default:
+                objets[emplacement] = cadre.objets[i];
+                break;
+        }
+    }
+
+    /**
+     * Retourne la variable de l'entrée d'index donné.
+     *
+     * @param i Index de l'entrée, depuis le début de l'exécution.
+     * @return La variable, ou null si l'entrée n'existe pas ou a été oubliée.
+     */
+    public Variable getVariable(int i) {
+        int emplacement = emplacement(i);
+        return emplacement < 0 ? null : variables[emplacement];
+    }
+
+    /**
+     * Retourne la ligne de l'entrée d'index donné.
+     *
+     * @param i Index de l'entrée, depuis le début de l'exécution.
+     * @return La ligne, ou -1 si l'entrée n'existe pas ou a été oubliée.
+     */
+    public int getLigne(int i) {
+        int emplacement = emplacement(i);
+        return emplacement < 0 ? -1 : lignes[emplacement];
+    }
+
+    /**
+     * Retourne, sous forme de texte, la valeur de l'entrée d'index donné.
+     *
+     * @param i Index de l'entrée, depuis le début de l'exécution.
+     * @return La valeur, ou null si l'entrée n'existe pas ou a été oubliée.
+     */
+    public String getValeur(int i) {
+        int emplacement = emplacement(i);
+        if (emplacement < 0) {
+            return null;
+        }
+
+        long primitive = primitives[emplacement];
+        switch (variables[emplacement].getStockage()) {
+            case ENTIER:
+                return Long.toString(primitive);
+            case REEL:
+                return Double.toString(Double.longBitsToDouble(primitive));
+            case BOOLEEN:
+                return Boolean.toString(primitive != 0);
+            case CARACTERE:
+                return String.valueOf((char) primitive);
+            default:
+                return String.valueOf(objets[emplacement]);
+        }
+    }
+
+    @Override
+    protected void encode(int emplacement, DataOutput sortie) throws IOException {
+        sortie.writeUTF(variables[emplacement].getNom());
+        sortie.writeInt(lignes[emplacement]);
+        sortie.writeLong(primitives[emplacement]);
+
+        Object objet = objets[emplacement];
+        sortie.writeBoolean(objet != null);
+        if (objet != null) {
+            String texte = String.valueOf(objet);
+            sortie.writeInt(texte.length());
+            sortie.writeChars(texte);
+        }
+    }
+
+    @Override
+    protected void decode(int emplacement, DataInput entree) throws IOException {
+        variables[emplacement] = table.cherche(entree.readUTF());
+        lignes[emplacement] = entree.readInt();
+        primitives[emplacement] = entree.readLong();
+        objets[emplacement] = null;
+
+        if (entree.readBoolean()) {
+            char[] caracteres = new char[entree.readInt()];
+            for (int i = 0; i < caracteres.length; i++) {
+                caracteres[i] = entree.readChar();
+            }
+
+            objets[emplacement] = new String(caracteres);
+        }
+    }
+}
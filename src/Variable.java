@@ -2,10 +2,48 @@
  * Classe représentant une variable. Une variable est composée d'un nom, d'un type et d'une valeur.
  * Une variable peut être constante.
  *
+ * <p>
+ * La valeur n'est pas stockée dans la variable elle-même mais dans un emplacement du Cadre d'exécution, sous une
+ * forme primitive dépendant de son type.
+ *
  * @author Allan Mercou, Adrien Guey, Gauthier Salas, Remi Schneider
- * @version 1.0 2018-12-20
+ * @version 1.1 2019-02-12
  */
 public final class Variable {
+    /**
+     * Types de stockage d'une variable.
+     */
+    public enum Type {
+        ENTIER,
+        REEL,
+        BOOLEEN,
+        CARACTERE,
+        CHAINE,
+        AUTRE;
+
+        /**
+         * Retourne le type de stockage correspondant au type déclaré dans le pseudo-code.
+         *
+         * @param type Type déclaré.
+         */
+        public static Type depuis(String type) {
+            switch (type) {
+                case "entier":
+                    return ENTIER;
+                case "reel":
+                    return REEL;
+                case "booleen":
+                    return BOOLEEN;
+                case "caractere":
+                    return CARACTERE;
+                case "chaine":
+                    return CHAINE;
+                default:
+                    return AUTRE;
+            }
+        }
+    }
+
     /**
      * Nom de la variable.
      */
@@ -17,9 +55,19 @@ public final class Variable {
     private String type;
 
     /**
-     * Valeur de la variable.
+     * Type de stockage de la variable.
+     */
+    private Type stockage;
+
+    /**
+     * Cadre contenant la valeur de la variable.
      */
-    private String valeur;
+    private Cadre cadre;
+
+    /**
+     * Emplacement de la valeur de la variable dans le tableau du cadre correspondant à son type.
+     */
+    private int emplacement;
 
     /**
      * Indique si la variable est une constante.
@@ -39,13 +87,16 @@ public final class Variable {
     /**
      * Initialise une variable non constante.
      *
-     * @param nom  Nom de la variable.
-     * @param type Type de la variable.
+     * @param nom   Nom de la variable.
+     * @param type  Type de la variable.
+     * @param cadre Cadre dans lequel la valeur de la variable est stockée.
      */
-    public Variable(String nom, String type) {
+    public Variable(String nom, String type, Cadre cadre) {
         this.nom = nom;
         this.type = type;
-        this.valeur = null;
+        this.stockage = Type.depuis(type);
+        this.cadre = cadre;
+        this.emplacement = cadre.alloue(stockage);
         this.constante = false;
         this.bloquee = false;
         setValeurDefaut();
@@ -57,94 +108,196 @@ public final class Variable {
      * @param nom    Nom de la constante.
      * @param type   Type de la constante.
      * @param valeur Valeur de la constante.
+     * @param cadre  Cadre dans lequel la valeur de la constante est stockée.
      */
-    public Variable(String nom, String type, String valeur) {
+    public Variable(String nom, String type, Object valeur, Cadre cadre) {
         this.nom = nom;
         this.type = type;
-        this.valeur = valeur;
+        this.stockage = Type.depuis(type);
+        this.cadre = cadre;
+        this.emplacement = cadre.alloue(stockage);
         this.constante = true;
         this.tracee = false;
         this.bloquee = false;
-        modifieVariableDansScripting();
-    }
-
-    /**
-     * Initialise une variable constante par copie. Utilisation exclusive pour la trace des variables.
-     *
-     * @param copie Variable à copier.
-     */
-    public Variable(Variable copie) {
-        this.nom = copie.nom;
-        this.type = copie.type;
-        this.valeur = copie.valeur;
-        this.constante = copie.constante;
-        this.tracee = copie.tracee;
-        this.bloquee = true;
+        ecrit(valeur);
     }
 
     /**
      * Remet la valeur de cette variable par défaut.
      */
     public void setValeurDefaut() {
-        switch (type) {
-            case "chaîne":
-            case "chaine":
-                this.valeur = "\"\"";
+        switch (stockage) {
+            case ENTIER:
+                cadre.entiers[emplacement] = 0;
                 break;
-            case "entier":
-                this.valeur = "0";
+            case REEL:
+                cadre.reels[emplacement] = 0.0;
                 break;
-            case "reel":
-            case "réel":
-                this.valeur = "0.0";
+            case BOOLEEN:
+                cadre.booleens[emplacement] = false;
                 break;
-            case "booleen":
-            case "booléen":
-                this.valeur = "false";
+            case CARACTERE:
+                cadre.caracteres[emplacement] = '\0';
                 break;
-            case "caractere":
-                this.valeur = "\0";
+            case CHAINE:
+                cadre.chaines[emplacement] = "";
+                break;
+            default:
+                cadre.objets[emplacement] = null;
                 break;
         }
-
-        modifieVariableDansScripting();
     }
 
     /**
      * Modifie la valeur de la variable. Ne fonctionne uniquement si la variable n'est pas une constante.
      *
-     * @param valeur Nouvelle valeur de la variable.
+     * @param valeur Nouvelle valeur de la variable, convertie selon le type de la variable.
+     * @throws IllegalArgumentException Si la valeur ne peut pas être convertie.
      */
-    public void setValeur(String valeur) {
+    public void setValeur(Object valeur) {
         if (bloquee) {
             return;
         }
 
         if (!constante) {
-            this.valeur = valeur;
-            modifieVariableDansScripting();
+            ecrit(valeur);
         }
     }
 
     /**
-     * Met à jour la valeur de la variable dans notre classe Scripting.
+     * Affecte à la variable la valeur de l'expression donnée, évaluée directement dans le type de la variable.
+     * Ne fonctionne uniquement si la variable n'est pas une constante.
      *
-     * @return Retourne un booléen pour bloquer la méthode jusqu'à sa terminaison.
+     * @param expression Expression à évaluer.
+     * @throws IllegalArgumentException Si la valeur ne peut pas être convertie, par exemple un réel non entier
+     *                                  affecté à un entier ; la variable est alors inchangée.
      */
-    private boolean modifieVariableDansScripting() {
-        if (bloquee) {
-            return false;
+    public void affecte(Expression expression) {
+        if (bloquee || constante) {
+            return;
+        }
+
+        switch (stockage) {
+            case ENTIER:
+                cadre.entiers[emplacement] = entier(expression);
+                break;
+            case REEL:
+                cadre.reels[emplacement] = expression.evalueReel();
+                break;
+            case BOOLEEN:
+                cadre.booleens[emplacement] = expression.evalueBooleen();
+                break;
+            default:
+                ecrit(expression.evalue());
+                break;
+        }
+    }
+
+    /**
+     * Évalue une expression destinée à une variable entière. Une valeur réelle n'est acceptée que si elle est
+     * entière (voir Operations.enEntier).
+     *
+     * @param expression Expression à évaluer.
+     * @throws IllegalArgumentException Si la valeur est un réel non entier.
+     */
+    private static long entier(Expression expression) {
+        switch (expression.getType()) {
+            case ENTIER:
+            case CARACTERE:
+                return expression.evalueEntier();
+            case REEL:
+                return Operations.enEntier(expression.evalueReel());
+            default:
+                return Operations.enEntier(expression.evalue());
+        }
+    }
+
+    /**
+     * Écrit la valeur donnée dans l'emplacement de la variable, après conversion.
+     *
+     * @param valeur Valeur à écrire.
+     */
+    private void ecrit(Object valeur) {
+        switch (stockage) {
+            case ENTIER:
+                cadre.entiers[emplacement] = Operations.enEntier(valeur);
+                break;
+            case REEL:
+                cadre.reels[emplacement] = Operations.enDouble(valeur);
+                break;
+            case BOOLEEN:
+                cadre.booleens[emplacement] = (Boolean) valeur;
+                break;
+            case CARACTERE:
+                cadre.caracteres[emplacement] = Operations.enCaractere(valeur);
+                break;
+            case CHAINE:
+                cadre.chaines[emplacement] = String.valueOf(valeur);
+                break;
+            default:
+                cadre.objets[emplacement] = valeur;
+                break;
+        }
+    }
+
+    /**
+     * Modifie la valeur de la variable à partir d'une saisie de l'utilisateur, convertie selon le type de la
+     * variable. Une saisie invalide laisse la variable inchangée.
+     *
+     * @param saisie    Texte saisi par l'utilisateur.
+     * @param scripting Contexte d'évaluation, utilisé si la saisie n'est pas une valeur simple.
+     */
+    public void lis(String saisie, Scripting scripting) {
+        Object valeur = convertit(saisie, scripting);
+        if (valeur != null) {
+            setValeur(valeur);
         }
+    }
 
-        if (type == "booleen") {
-            valeur = valeur.replace("vrai", "true").replace("faux", "false");
-        } else if (type == "reel") {
-            valeur = valeur.replace(",", ".");
+    /**
+     * Convertit le texte donné en une valeur du type de la variable. Si la conversion directe échoue, le texte est
+     * évalué comme une expression.
+     *
+     * @param texte     Texte à convertir.
+     * @param scripting Contexte d'évaluation de l'expression.
+     * @return La valeur convertie.
+     */
+    private Object convertit(String texte, Scripting scripting) {
+        String saisie = texte.trim();
+        if (saisie.isEmpty() && stockage != Type.CHAINE) {
+            return null;
         }
 
-        this.valeur = Scripting.modifieVariable(nom, valeur).toString();
+        try {
+            switch (stockage) {
+                case ENTIER:
+                    return Long.valueOf(saisie);
+                case REEL:
+                    return Double.valueOf(saisie.replace(",", "."));
+                case BOOLEEN:
+                    if (saisie.equals("vrai") || saisie.equals("true")) {
+                        return true;
+                    } else if (saisie.equals("faux") || saisie.equals("false")) {
+                        return false;
+                    }
+                    break;
+                case CARACTERE:
+                    if (saisie.length() == 1) {
+                        return saisie.charAt(0);
+                    }
+                    break;
+                default:
+                    if (saisie.length() >= 2 && saisie.startsWith("\"") && saisie.endsWith("\"")) {
+                        return saisie.substring(1, saisie.length() - 1);
+                    }
 
-        return true;
+                    return texte;
+            }
+        } catch (NumberFormatException e) {
+            // La saisie n'est pas une valeur simple, elle est évaluée ci-dessous.
+        }
+
+        return scripting.calcule(scripting.compile(saisie));
     }
 
     /**
@@ -170,10 +323,64 @@ public final class Variable {
     }
 
     /**
-     * Retourne la valeur de la variable.
+     * Retourne la valeur de la variable, sous forme de texte.
      */
     public String getValeur() {
-        return this.valeur;
+        switch (stockage) {
+            case ENTIER:
+                return Long.toString(cadre.entiers[emplacement]);
+            case REEL:
+                return Double.toString(cadre.reels[emplacement]);
+            case BOOLEEN:
+                return Boolean.toString(cadre.booleens[emplacement]);
+            case CARACTERE:
+                return String.valueOf(cadre.caracteres[emplacement]);
+            case CHAINE:
+                return cadre.chaines[emplacement];
+            default:
+                return String.valueOf(cadre.objets[emplacement]);
+        }
+    }
+
+    /**
+     * Retourne la valeur de la variable.
+     */
+    public Object getContenu() {
+        switch (stockage) {
+            case ENTIER:
+                return cadre.entiers[emplacement];
+            case REEL:
+                return cadre.reels[emplacement];
+            case BOOLEEN:
+                return cadre.booleens[emplacement];
+            case CARACTERE:
+                return cadre.caracteres[emplacement];
+            case CHAINE:
+                return cadre.chaines[emplacement];
+            default:
+                return cadre.objets[emplacement];
+        }
+    }
+
+    /**
+     * Retourne le type de stockage de la variable.
+     */
+    public Type getStockage() {
+        return this.stockage;
+    }
+
+    /**
+     * Retourne le cadre contenant la valeur de la variable.
+     */
+    public Cadre getCadre() {
+        return this.cadre;
+    }
+
+    /**
+     * Retourne l'emplacement de la valeur de la variable dans le tableau du cadre correspondant à son type.
+     */
+    public int getEmplacement() {
+        return this.emplacement;
     }
 
     /**